@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.benchmarks;
+
+import eu.marrat.advent2018.generator.InputGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Temporary files holding generated benchmark inputs.
+ */
+public final class BenchmarkFiles {
+
+	public static Path write(InputGenerator generator, long size, long seed) throws IOException {
+		return write(generator, size, seed, false);
+	}
+
+	/**
+	 * Like {@link #write(InputGenerator, long, long)}, with logs in chronological order if requested.
+	 */
+	public static Path write(InputGenerator generator, long size, long seed, boolean ordered) throws IOException {
+		Path file = Files.createTempFile("advent2018-", ".input");
+		file.toFile().deleteOnExit();
+
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			generator.generate(size, seed, writer, ordered);
+		}
+
+		return file;
+	}
+
+	public static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private BenchmarkFiles() {
+		throw new IllegalStateException();
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.day03;
+
+import eu.marrat.advent2018.benchmarks.BenchmarkFiles;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.generator.InputGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day03ParseBenchmark {
+
+    private static final long SEED = 3;
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = BenchmarkFiles.write(InputGenerator.DAY03, size, SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFiles.delete(file);
+    }
+
+    @Benchmark
+    public ParsedClaims parse() {
+        return new Day03(Day03.Engine.DENSE, Day03.Parser.SCANNER).parse(InputSource.file(file));
+    }
+
+    @Benchmark
+    public ParsedClaims parseWithRegex() {
+        return new Day03(Day03.Engine.DENSE, Day03.Parser.REGEX).parse(InputSource.file(file));
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.day04;
+
+import eu.marrat.advent2018.benchmarks.BenchmarkFiles;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.generator.InputGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day04Benchmark {
+
+    private static final long SEED = 4;
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    @Param({"SORT", "PARALLEL", "REGEX", "STREAM", "EXTERNAL_SORT"})
+    private String ingest;
+
+    private Day04 solver;
+
+    private Path file;
+
+    private Map<Integer, Day04.SleepSummary> guards;
+
+    @Setup
+    public void setUp() throws IOException {
+        Day04.Ingest mode = Day04.Ingest.valueOf(ingest);
+
+        // Small runs, so that the external sort actually spills to disk
+        solver = new Day04(mode, Math.max(1, size / 4));
+        // Shuffled like the puzzle input, only streaming relies on a log in chronological order
+        file = BenchmarkFiles.write(InputGenerator.DAY04, size, SEED, mode == Day04.Ingest.STREAM);
+        guards = solver.parse(InputSource.file(file));
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFiles.delete(file);
+    }
+
+    @Benchmark
+    public Map<Integer, Day04.SleepSummary> parse() {
+        return solver.parse(InputSource.file(file));
+    }
+
+    @Benchmark
+    public int applyStrategy1() {
+        return Day04.applyStrategy1(guards);
+    }
+
+    @Benchmark
+    public int applyStrategy2() {
+        return Day04.applyStrategy2(guards);
+    }
+
+}
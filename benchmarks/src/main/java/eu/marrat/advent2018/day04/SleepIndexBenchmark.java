@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.day04;
+
+import eu.marrat.advent2018.benchmarks.BenchmarkFiles;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.generator.InputGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SleepIndexBenchmark {
+
+    private static final long SEED = 4;
+
+    /**
+     * Generated logs start at this date with one shift per day.
+     */
+    private static final LocalDate FIRST_DAY = LocalDate.of(1518, 1, 1);
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private Path file;
+
+    private SleepIndex index;
+
+    private int guard;
+
+    private LocalDateTime middle;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = BenchmarkFiles.write(InputGenerator.DAY04, size, SEED);
+        index = Day04.buildSleepIndex(InputSource.file(file));
+        guard = index.getGuardIds().iterator().next();
+        middle = FIRST_DAY.plusDays(size / 2).atTime(0, 30);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFiles.delete(file);
+    }
+
+    @Benchmark
+    public SleepIndex buildSleepIndex() {
+        return Day04.buildSleepIndex(InputSource.file(file));
+    }
+
+    @Benchmark
+    public long getMinutesAsleep() {
+        return index.getMinutesAsleep(guard, FIRST_DAY.atStartOfDay(), middle);
+    }
+
+    @Benchmark
+    public Set<Integer> getGuardsAsleepAt() {
+        return index.getGuardsAsleepAt(middle);
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.day06;
+
+import eu.marrat.advent2018.benchmarks.BenchmarkFiles;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.generator.InputGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day06Benchmark {
+
+	private static final long SEED = 6;
+
+	@Param({"25", "50"})
+	private int size;
+
+	private final Day06 solver = new Day06();
+
+	private Path file;
+
+	private List<OriginalCoordinate> coordinates;
+
+	@Setup
+	public void setUp() throws IOException {
+		file = BenchmarkFiles.write(InputGenerator.DAY06, size, SEED);
+		coordinates = solver.parse(InputSource.file(file));
+	}
+
+	@TearDown
+	public void tearDown() {
+		BenchmarkFiles.delete(file);
+	}
+
+	@Benchmark
+	public List<OriginalCoordinate> parse() {
+		return solver.parse(InputSource.file(file));
+	}
+
+	@Benchmark
+	public int solve() {
+		List<RegionPoint> allRegionPoints = Day06.scan(coordinates);
+
+		return Day06.findLargestFiniteArea(allRegionPoints)
+				+ Day06.findRegionPointsWithinDistance(allRegionPoints).size();
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A line backed by a region of a {@link ByteBuffer}. Every byte is treated as one character, which holds for the
+ * ASCII puzzle inputs; {@link #toString()} decodes the bytes as UTF-8.
+ */
+final class ByteLine implements CharSequence {
+
+	private final ByteBuffer buffer;
+
+	private final int offset;
+
+	private final int length;
+
+	ByteLine(ByteBuffer buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException(index);
+		}
+
+		return (char) (buffer.get(offset + index) & 0xFF);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length || start > end) {
+			throw new IndexOutOfBoundsException(String.format("[%d, %d) of %d", start, end, length));
+		}
+
+		return new ByteLine(buffer, offset + start, end - start);
+	}
+
+	@Override
+	public String toString() {
+		byte[] bytes = new byte[length];
+		buffer.duplicate().position(offset).get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Reads a stream in chunks which end at a boundary byte, so that no line or token is spread over two chunks. Every
+ * chunk is a fresh buffer, which keeps views on previous chunks valid.
+ */
+class ChunkSpliterator extends Spliterators.AbstractSpliterator<ByteBuffer> {
+
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	private final InputStream inputStream;
+
+	private final Boundary boundary;
+
+	private byte[] carry = new byte[0];
+
+	private boolean eof;
+
+	ChunkSpliterator(InputStream inputStream, Boundary boundary) {
+		super(Long.MAX_VALUE, ORDERED | NONNULL | IMMUTABLE);
+		this.inputStream = inputStream;
+		this.boundary = boundary;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super ByteBuffer> action) {
+		byte[] chunk = Arrays.copyOf(carry, Math.max(CHUNK_SIZE, carry.length * 2));
+		int length = carry.length;
+		int scanned = carry.length;
+
+		while (!eof) {
+			length = fill(chunk, length);
+
+			// Bytes before scanned hold no boundary, so only the newly read ones need a look
+			for (int i = length - 1; i >= scanned; --i) {
+				if (boundary.test(chunk[i])) {
+					carry = Arrays.copyOfRange(chunk, i + 1, length);
+					action.accept(ByteBuffer.wrap(chunk, 0, i + 1).slice());
+					return true;
+				}
+			}
+
+			scanned = length;
+
+			if (length == chunk.length) {
+				chunk = Arrays.copyOf(chunk, chunk.length * 2);
+			}
+		}
+
+		carry = new byte[0];
+
+		if (length == 0) {
+			return false;
+		}
+
+		action.accept(ByteBuffer.wrap(chunk, 0, length).slice());
+		return true;
+	}
+
+	private int fill(byte[] chunk, int length) {
+		try {
+			while (length < chunk.length) {
+				int read = inputStream.read(chunk, length, chunk.length - length);
+
+				if (read < 0) {
+					eof = true;
+					break;
+				}
+
+				length += read;
+			}
+
+			return length;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	interface Boundary {
+
+		Boundary LINE = b -> b == '\n';
+
+		Boundary WHITESPACE = NumberSpliterator::isSeparator;
+
+		boolean test(byte b);
+
+	}
+
+}
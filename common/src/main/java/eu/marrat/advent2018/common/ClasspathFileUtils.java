@@ -16,40 +16,51 @@
 
 package eu.marrat.advent2018.common;
 
-import org.apache.commons.lang3.StringUtils;
-
-import java.nio.charset.StandardCharsets;
-import java.util.Objects;
-import java.util.Scanner;
-import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+/**
+ * Shortcuts for reading a classpath resource through {@link InputSource#classpath(String)}.
+ */
 public class ClasspathFileUtils {
 
-	private static final Pattern NEW_LINE = Pattern.compile("\n");
-
 	public static Stream<String> getTokensFromSingleLine(String file, char separator) {
-		return getLines(file)
-				.filter(StringUtils::isNotEmpty)
-				.limit(1)
-				.map(s -> StringUtils.split(s, separator))
-				.flatMap(Stream::of);
+		return InputSource.classpath(file).tokensFromSingleLine(separator);
 	}
 
 	public static Stream<Long> getLongs(String file) {
-		return getLines(file).map(Long::parseLong);
+		return InputSource.classpath(file).longs();
+	}
+
+	/**
+	 * Parses all whitespace separated numbers of the file, without boxing them or creating intermediate strings.
+	 */
+	public static LongStream getLongStream(String file) {
+		return InputSource.classpath(file).longStream();
+	}
+
+	public static long[] getLongArray(String file) {
+		return InputSource.classpath(file).longArray();
+	}
+
+	public static IntStream getIntStream(String file) {
+		return InputSource.classpath(file).intStream();
+	}
+
+	public static int[] getIntArray(String file) {
+		return InputSource.classpath(file).intArray();
 	}
 
 	public static Stream<String> getLines(String file) {
-		return getScanner(file)
-				.useDelimiter(NEW_LINE)
-				.tokens();
+		return InputSource.classpath(file).lines();
 	}
 
-	private static Scanner getScanner(String file) {
-		return new Scanner(
-				Objects.requireNonNull(ClasspathFileUtils.class.getClassLoader().getResourceAsStream(file)),
-				StandardCharsets.UTF_8);
+	/**
+	 * Like {@link #getLines(String)}, but without copying the lines if the resource is a file on the file system.
+	 */
+	public static Stream<CharSequence> getLineViews(String file) {
+		return InputSource.classpath(file).lineViews();
 	}
 
 	private ClasspathFileUtils() {
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.common;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorts the lines of inputs that do not fit in memory: runs of lines are sorted in memory and written to temporary
+ * files, which are then merged while the returned stream is consumed. The stream must be closed to delete the files.
+ * <p>
+ * At most {@value #MAX_FAN_IN} runs are open at the same time. If there are more, groups of runs are first merged into
+ * longer runs, pass by pass, until few enough are left.
+ */
+public final class ExternalSort {
+
+	private static final int MAX_FAN_IN = 64;
+
+	public static Stream<String> sortedLines(InputSource input, int linesPerRun) {
+		if (linesPerRun < 1) {
+			throw new IllegalArgumentException(String.format("Invalid number of lines per run: %d", linesPerRun));
+		}
+
+		List<Path> runs = new ArrayList<>();
+		List<String> lines = new ArrayList<>();
+
+		try (Stream<String> stream = input.lines()) {
+			Iterator<String> iterator = stream.iterator();
+
+			while (iterator.hasNext()) {
+				lines.add(iterator.next());
+
+				if (lines.size() == linesPerRun) {
+					runs.add(writeRun(lines));
+					lines.clear();
+				}
+			}
+
+			while (runs.size() > MAX_FAN_IN) {
+				List<Path> group = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+				Path merged = mergeRuns(group);
+				runs.subList(0, MAX_FAN_IN).clear();
+				runs.add(merged);
+			}
+		} catch (IOException | RuntimeException e) {
+			deleteAll(runs);
+			throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+		}
+
+		lines.sort(Comparator.naturalOrder());
+
+		if (runs.isEmpty()) {
+			return lines.stream();
+		}
+
+		Merge merge = new Merge(runs, lines);
+
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merge, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(merge::close);
+	}
+
+	private static Path writeRun(List<String> lines) throws IOException {
+		lines.sort(Comparator.naturalOrder());
+
+		Path run = Files.createTempFile("advent2018-sort-", ".run");
+
+		try (BufferedWriter writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+			for (String line : lines) {
+				writer.write(line);
+				writer.newLine();
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(run);
+			throw e;
+		}
+
+		return run;
+	}
+
+	/**
+	 * Merges the runs into a single new run and deletes them.
+	 */
+	private static Path mergeRuns(List<Path> runs) throws IOException {
+		Path run = Files.createTempFile("advent2018-sort-", ".run");
+
+		try (Merge merge = new Merge(runs, List.of());
+			 BufferedWriter writer = Files.newBufferedWriter(run, StandardCharsets.UTF_8)) {
+			while (merge.hasNext()) {
+				writer.write(merge.next());
+				writer.newLine();
+			}
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(run);
+			throw e;
+		}
+
+		return run;
+	}
+
+	private static void deleteAll(List<Path> runs) {
+		for (Path run : runs) {
+			try {
+				Files.deleteIfExists(run);
+			} catch (IOException e) {
+				// Left in the temporary directory
+			}
+		}
+	}
+
+	/**
+	 * Repeatedly takes the smallest head of all runs, the last run is still in memory. Deletes the runs when closed.
+	 */
+	private static class Merge implements Iterator<String>, AutoCloseable {
+
+		private final List<Path> runs;
+
+		private final List<BufferedReader> readers = new ArrayList<>();
+
+		private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing((Head h) -> h.line));
+
+		Merge(List<Path> runs, List<String> lastRun) {
+			this.runs = runs;
+
+			try {
+				for (Path run : runs) {
+					BufferedReader reader = Files.newBufferedReader(run, StandardCharsets.UTF_8);
+					readers.add(reader);
+					Iterator<String> lines = reader.lines().iterator();
+					advance(new Head(lines));
+				}
+			} catch (IOException | RuntimeException e) {
+				close();
+				throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+			}
+
+			advance(new Head(lastRun.iterator()));
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !heads.isEmpty();
+		}
+
+		@Override
+		public String next() {
+			Head head = heads.poll();
+
+			if (head == null) {
+				throw new NoSuchElementException();
+			}
+
+			String line = head.line;
+			advance(head);
+
+			return line;
+		}
+
+		@Override
+		public void close() {
+			for (BufferedReader reader : readers) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					// Nothing left to read anyway
+				}
+			}
+
+			deleteAll(runs);
+		}
+
+		private void advance(Head head) {
+			if (head.lines.hasNext()) {
+				head.line = head.lines.next();
+				heads.add(head);
+			}
+		}
+
+	}
+
+	private static class Head {
+
+		private final Iterator<String> lines;
+
+		private String line;
+
+		Head(Iterator<String> lines) {
+			this.lines = lines;
+		}
+
+	}
+
+	private ExternalSort() {
+		throw new IllegalStateException();
+	}
+
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+import com.github.luben.zstd.ZstdInputStream;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Where the puzzle input comes from: a classpath resource, a file or stdin. Gzip and zstd compressed input is
+ * recognized by its magic bytes and decompressed while streaming.
+ * <p>
+ * Uncompressed files are memory-mapped, everything else is read in chunks, so no source is ever read into memory as a
+ * whole.
+ */
+public abstract class InputSource {
+
+	private static final String CLASSPATH_PREFIX = "classpath:";
+
+	private static final String STDIN = "-";
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private static final int GZIP_MAGIC = 0x1F8B;
+
+	private static final int ZSTD_MAGIC = 0x28B52FFD;
+
+	public static InputSource classpath(String resource) {
+		return new ClasspathInputSource(InputSource.class.getClassLoader(), resource);
+	}
+
+	/**
+	 * Resolves the resource relative to the package of the given class, like {@link Class#getResource(String)}.
+	 */
+	public static InputSource classpath(Class<?> anchor, String name) {
+		String packagePath = anchor.getPackageName().replace('.', '/');
+		return new ClasspathInputSource(anchor.getClassLoader(), packagePath.isEmpty() ? name : packagePath + '/' + name);
+	}
+
+	public static InputSource file(Path path) {
+		return new FileInputSource(path);
+	}
+
+	public static InputSource stdin() {
+		return new StdinInputSource();
+	}
+
+	/**
+	 * Resolves {@code -} to stdin, {@code classpath:name} to a classpath resource and everything else to a file.
+	 */
+	public static InputSource of(String spec) {
+		if (STDIN.equals(spec)) {
+			return stdin();
+		} else if (spec.startsWith(CLASSPATH_PREFIX)) {
+			return classpath(spec.substring(CLASSPATH_PREFIX.length()));
+		} else {
+			return file(Paths.get(spec));
+		}
+	}
+
+	/**
+	 * Uses the first command line argument as {@link #of(String) spec}, the given default source if there is none.
+	 */
+	public static InputSource fromArgs(String[] args, InputSource defaultSource) {
+		return args.length > 0 ? of(args[0]) : defaultSource;
+	}
+
+	/**
+	 * Opens the raw content of this source, already decompressed.
+	 */
+	public InputStream openStream() throws IOException {
+		return decompress(openRawStream());
+	}
+
+	abstract InputStream openRawStream() throws IOException;
+
+	/**
+	 * Returns the path of this source if it is an uncompressed file that can be mapped.
+	 */
+	Optional<Path> getMappablePath() throws IOException {
+		return Optional.empty();
+	}
+
+	public Stream<String> lines() {
+		return lineViews().map(CharSequence::toString);
+	}
+
+	/**
+	 * Like {@link #lines()}, but without copying the lines into strings.
+	 */
+	public Stream<CharSequence> lineViews() {
+		try {
+			Optional<Path> path = getMappablePath();
+
+			if (path.isPresent()) {
+				return MappedFile.map(path.get()).lines();
+			}
+
+			return chunks(ChunkSpliterator.Boundary.LINE)
+					.flatMap(chunk -> StreamSupport.stream(new LineSpliterator(chunk), false));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public Stream<Long> longs() {
+		return lines().map(Long::parseLong);
+	}
+
+	/**
+	 * Parses all whitespace separated numbers, without boxing them or creating intermediate strings.
+	 */
+	public LongStream longStream() {
+		try {
+			Optional<Path> path = getMappablePath();
+
+			if (path.isPresent()) {
+				return MappedFile.map(path.get()).getRegions().stream()
+						.map(InputSource::parseLongs)
+						.reduce(LongStream::concat)
+						.orElseGet(LongStream::empty);
+			}
+
+			return chunks(ChunkSpliterator.Boundary.WHITESPACE)
+					.flatMapToLong(InputSource::parseLongs);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public long[] longArray() {
+		try (LongStream longs = longStream()) {
+			return longs.toArray();
+		}
+	}
+
+	public IntStream intStream() {
+		return longStream().mapToInt(Math::toIntExact);
+	}
+
+	public int[] intArray() {
+		try (IntStream ints = intStream()) {
+			return ints.toArray();
+		}
+	}
+
+	/**
+	 * Splits the first non-empty line. The source is read and closed before the tokens are returned.
+	 */
+	public Stream<String> tokensFromSingleLine(char separator) {
+		try (Stream<String> lines = lines()) {
+			return lines
+					.filter(StringUtils::isNotEmpty)
+					.findFirst()
+					.map(s -> Stream.of(StringUtils.split(s, separator)))
+					.orElseGet(Stream::empty);
+		}
+	}
+
+	private Stream<ByteBuffer> chunks(ChunkSpliterator.Boundary boundary) throws IOException {
+		InputStream inputStream = openStream();
+
+		return StreamSupport.stream(new ChunkSpliterator(inputStream, boundary), false)
+				.onClose(() -> {
+					try {
+						inputStream.close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+	}
+
+	private static LongStream parseLongs(ByteBuffer buffer) {
+		return StreamSupport.longStream(new NumberSpliterator(buffer), false);
+	}
+
+	private static InputStream decompress(InputStream inputStream) throws IOException {
+		BufferedInputStream buffered = new BufferedInputStream(inputStream, BUFFER_SIZE);
+
+		int magic = peekMagic(buffered);
+
+		if (magic >>> 16 == GZIP_MAGIC) {
+			return new GZIPInputStream(buffered, BUFFER_SIZE);
+		} else if (magic == ZSTD_MAGIC) {
+			return new BufferedInputStream(new ZstdInputStream(buffered), BUFFER_SIZE);
+		} else {
+			return buffered;
+		}
+	}
+
+	private static int peekMagic(InputStream inputStream) throws IOException {
+		inputStream.mark(Integer.BYTES);
+
+		int magic = 0;
+		for (int i = 0; i < Integer.BYTES; ++i) {
+			int b = inputStream.read();
+			magic = (magic << 8) | Math.max(b, 0);
+		}
+
+		inputStream.reset();
+
+		return magic;
+	}
+
+	private static boolean isCompressed(InputStream inputStream) throws IOException {
+		int magic = peekMagic(inputStream);
+		return magic >>> 16 == GZIP_MAGIC || magic == ZSTD_MAGIC;
+	}
+
+	private static final class ClasspathInputSource extends InputSource {
+
+		private final ClassLoader classLoader;
+
+		private final String resource;
+
+		private ClasspathInputSource(ClassLoader classLoader, String resource) {
+			this.classLoader = Objects.requireNonNull(classLoader);
+			this.resource = Objects.requireNonNull(resource);
+		}
+
+		@Override
+		InputStream openRawStream() {
+			return Objects.requireNonNull(classLoader.getResourceAsStream(resource), resource);
+		}
+
+		@Override
+		Optional<Path> getMappablePath() throws IOException {
+			URL url = Objects.requireNonNull(classLoader.getResource(resource), resource);
+
+			if (!"file".equals(url.getProtocol())) {
+				return Optional.empty();
+			}
+
+			try {
+				return new FileInputSource(Paths.get(url.toURI())).getMappablePath();
+			} catch (URISyntaxException e) {
+				return Optional.empty();
+			}
+		}
+
+		@Override
+		public String toString() {
+			return CLASSPATH_PREFIX + resource;
+		}
+	}
+
+	private static final class FileInputSource extends InputSource {
+
+		private final Path path;
+
+		private FileInputSource(Path path) {
+			this.path = Objects.requireNonNull(path);
+		}
+
+		@Override
+		InputStream openRawStream() throws IOException {
+			return Files.newInputStream(path);
+		}
+
+		@Override
+		Optional<Path> getMappablePath() throws IOException {
+			if (!Files.isRegularFile(path)) {
+				return Optional.empty();
+			}
+
+			try (InputStream inputStream = new BufferedInputStream(openRawStream(), Integer.BYTES)) {
+				return isCompressed(inputStream) ? Optional.empty() : Optional.of(path);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return path.toString();
+		}
+	}
+
+	private static final class StdinInputSource extends InputSource {
+
+		/**
+		 * Closing the returned stream leaves {@link System#in} open.
+		 */
+		@Override
+		InputStream openRawStream() {
+			return new FilterInputStream(System.in) {
+
+				@Override
+				public void close() {
+				}
+
+			};
+		}
+
+		@Override
+		public String toString() {
+			return STDIN;
+		}
+	}
+
+}
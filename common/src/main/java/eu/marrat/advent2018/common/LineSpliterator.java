@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Splits a buffer into lines separated by {@code '\n'}. A trailing line without separator is reported as well, an
+ * empty one is not.
+ * <p>
+ * Splits happen at the first line boundary after the middle of the remaining range, which allows parallel streams.
+ */
+class LineSpliterator implements Spliterator<CharSequence> {
+
+	private static final int MIN_SPLIT_SIZE = 1 << 14;
+
+	private final ByteBuffer buffer;
+
+	private int index;
+
+	private final int end;
+
+	LineSpliterator(ByteBuffer buffer) {
+		this(buffer, 0, buffer.limit());
+	}
+
+	private LineSpliterator(ByteBuffer buffer, int index, int end) {
+		this.buffer = buffer;
+		this.index = index;
+		this.end = end;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super CharSequence> action) {
+		Objects.requireNonNull(action);
+
+		if (index >= end) {
+			return false;
+		}
+
+		int lineEnd = index;
+		while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+			++lineEnd;
+		}
+
+		action.accept(new ByteLine(buffer, index, lineEnd - index));
+		index = lineEnd + 1;
+
+		return true;
+	}
+
+	@Override
+	public Spliterator<CharSequence> trySplit() {
+		if (end - index < MIN_SPLIT_SIZE) {
+			return null;
+		}
+
+		for (int i = index + (end - index) / 2; i < end; ++i) {
+			if (buffer.get(i) == '\n') {
+				LineSpliterator prefix = new LineSpliterator(buffer, index, i + 1);
+				index = i + 1;
+				return prefix;
+			}
+		}
+
+		return null;
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.common;
+
+import java.util.Arrays;
+
+/**
+ * A set of primitive {@code long}s using open addressing with linear probing, so adding a value neither boxes it nor
+ * allocates a node. The table is kept at most half full and doubles when that load is exceeded.
+ */
+public final class LongHashSet {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private static final long EMPTY = 0;
+
+	private long[] table;
+
+	private int mask;
+
+	private int size;
+
+	private boolean containsEmpty;
+
+	public LongHashSet() {
+		this(MIN_CAPACITY / 2);
+	}
+
+	/**
+	 * Creates a set that can take the given number of values without resizing.
+	 */
+	public LongHashSet(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException(String.format("Negative expected size: %d", expectedSize));
+		}
+
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	/**
+	 * Adds the value and returns {@code true} if it was not contained before.
+	 */
+	public boolean add(long value) {
+		if (value == EMPTY) {
+			if (containsEmpty) {
+				return false;
+			}
+			containsEmpty = true;
+			++size;
+			return true;
+		}
+
+		int index = indexOf(value);
+
+		while (table[index] != EMPTY) {
+			if (table[index] == value) {
+				return false;
+			}
+			index = (index + 1) & mask;
+		}
+
+		if (size + 1 > table.length / 2) {
+			if (table.length >= MAX_CAPACITY) {
+				throw new IllegalStateException(String.format("Set cannot grow beyond %d values", MAX_CAPACITY / 2));
+			}
+
+			resize(table.length * 2);
+			index = indexOf(value);
+			while (table[index] != EMPTY) {
+				index = (index + 1) & mask;
+			}
+		}
+
+		table[index] = value;
+		++size;
+
+		return true;
+	}
+
+	public boolean contains(long value) {
+		if (value == EMPTY) {
+			return containsEmpty;
+		}
+
+		int index = indexOf(value);
+
+		while (table[index] != EMPTY) {
+			if (table[index] == value) {
+				return true;
+			}
+			index = (index + 1) & mask;
+		}
+
+		return false;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all values but keeps the table, so the set can be refilled without allocating.
+	 */
+	public void clear() {
+		Arrays.fill(table, EMPTY);
+		containsEmpty = false;
+		size = 0;
+	}
+
+	private int indexOf(long value) {
+		// Finalizer of MurmurHash3, consecutive values would otherwise fill long runs of neighbouring slots
+		long hash = value;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return (int) hash & mask;
+	}
+
+	private void resize(int capacity) {
+		long[] old = table;
+		allocate(capacity);
+
+		for (long value : old) {
+			if (value != EMPTY) {
+				int index = indexOf(value);
+				while (table[index] != EMPTY) {
+					index = (index + 1) & mask;
+				}
+				table[index] = value;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		table = new long[capacity];
+		mask = capacity - 1;
+	}
+
+	private static int tableSizeFor(int expectedSize) {
+		long capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(2L * expectedSize - 1) << 1);
+
+		if (capacity > MAX_CAPACITY) {
+			throw new IllegalArgumentException(String.format("Expected size too large: %d", expectedSize));
+		}
+
+		return (int) capacity;
+	}
+
+}
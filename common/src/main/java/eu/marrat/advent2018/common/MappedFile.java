@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A file mapped into memory. Lines are exposed as {@link CharSequence} views on the mapping, so no line is copied
+ * unless {@link CharSequence#toString()} is called on it.
+ * <p>
+ * Files larger than a single mapping are split into several regions, each of them ending at a line boundary.
+ * <p>
+ * The file is closed as soon as it is mapped. The mapping itself has no explicit release: it is unmapped once the
+ * regions, every stream over them and every line viewing them have been garbage collected, so closing a stream of
+ * {@link #lines()} does not release anything.
+ */
+public final class MappedFile {
+
+	private static final int MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+	private final List<ByteBuffer> regions;
+
+	private MappedFile(List<ByteBuffer> regions) {
+		this.regions = regions;
+	}
+
+	public static MappedFile map(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			List<ByteBuffer> regions = new ArrayList<>();
+
+			long size = channel.size();
+			long position = 0;
+
+			while (position < size) {
+				ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, MAX_REGION_SIZE));
+
+				if (position + region.limit() < size) {
+					region.limit(lastLineEnd(region));
+				}
+
+				regions.add(region.slice());
+				position += region.limit();
+			}
+
+			return new MappedFile(Collections.unmodifiableList(regions));
+		}
+	}
+
+	/**
+	 * Returns a sequential stream of all lines, which can be turned into a balanced {@link Stream#parallel()} one.
+	 */
+	public Stream<CharSequence> lines() {
+		return regions.stream()
+				.map(region -> StreamSupport.stream(new LineSpliterator(region), false))
+				.reduce(Stream::concat)
+				.orElseGet(Stream::empty);
+	}
+
+	List<ByteBuffer> getRegions() {
+		return regions;
+	}
+
+	private static int lastLineEnd(ByteBuffer region) {
+		for (int i = region.limit() - 1; i >= 0; --i) {
+			if (region.get(i) == '\n') {
+				return i + 1;
+			}
+		}
+
+		throw new IllegalArgumentException(String.format("Line longer than %d bytes", MAX_REGION_SIZE));
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Parses whitespace separated, optionally signed decimal numbers straight from a buffer, without creating a
+ * {@link String} per token.
+ * <p>
+ * Splits happen at the first separator after the middle of the remaining range, which allows parallel streams.
+ */
+class NumberSpliterator implements Spliterator.OfLong {
+
+	private static final int MIN_SPLIT_SIZE = 1 << 14;
+
+	private final ByteBuffer buffer;
+
+	private int index;
+
+	private final int end;
+
+	NumberSpliterator(ByteBuffer buffer) {
+		this(buffer, 0, buffer.limit());
+	}
+
+	private NumberSpliterator(ByteBuffer buffer, int index, int end) {
+		this.buffer = buffer;
+		this.index = index;
+		this.end = end;
+	}
+
+	@Override
+	public boolean tryAdvance(LongConsumer action) {
+		Objects.requireNonNull(action);
+
+		while (index < end && isSeparator(buffer.get(index))) {
+			++index;
+		}
+
+		if (index >= end) {
+			return false;
+		}
+
+		int start = index;
+		boolean negative = false;
+
+		byte b = buffer.get(index);
+		if (b == '-' || b == '+') {
+			negative = b == '-';
+			++index;
+		}
+
+		long value = 0;
+		int digits = 0;
+
+		while (index < end && !isSeparator(b = buffer.get(index))) {
+			if (b < '0' || b > '9') {
+				throw new NumberFormatException(String.format("Illegal character '%c' at offset %d", (char) b, index));
+			}
+
+			value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+			++digits;
+			++index;
+		}
+
+		if (digits == 0) {
+			throw new NumberFormatException(String.format("Missing digits at offset %d", start));
+		}
+
+		action.accept(negative ? -value : value);
+
+		return true;
+	}
+
+	@Override
+	public OfLong trySplit() {
+		if (end - index < MIN_SPLIT_SIZE) {
+			return null;
+		}
+
+		for (int i = index + (end - index) / 2; i < end; ++i) {
+			if (isSeparator(buffer.get(i))) {
+				NumberSpliterator prefix = new NumberSpliterator(buffer, index, i + 1);
+				index = i + 1;
+				return prefix;
+			}
+		}
+
+		return null;
+	}
+
+	@Override
+	public long estimateSize() {
+		return end - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL | IMMUTABLE;
+	}
+
+	static boolean isSeparator(byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * The outcome of one {@link Phase}. CPU time and allocated bytes are those of the thread running the phase, work
+ * handed to other threads (e.g. by parallel streams) is not included.
+ */
+public final class PhaseResult {
+
+	private final Phase phase;
+
+	private final Object answer;
+
+	private final long wallNanos;
+
+	private final long cpuNanos;
+
+	private final long allocatedBytes;
+
+	PhaseResult(Phase phase, Object answer, long wallNanos, long cpuNanos, long allocatedBytes) {
+		this.phase = phase;
+		this.answer = answer;
+		this.wallNanos = wallNanos;
+		this.cpuNanos = cpuNanos;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public Phase getPhase() {
+		return phase;
+	}
+
+	/**
+	 * The answer of a part, {@code null} for {@link Phase#PARSE}.
+	 */
+	public Object getAnswer() {
+		return answer;
+	}
+
+	public long getWallNanos() {
+		return wallNanos;
+	}
+
+	/**
+	 * CPU time of the running thread, {@code -1} if the JVM cannot measure it.
+	 */
+	public long getCpuNanos() {
+		return cpuNanos;
+	}
+
+	/**
+	 * Bytes allocated by the running thread, {@code -1} if the JVM cannot measure them.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this, ToStringStyle.SIMPLE_STYLE)
+				.append("phase", phase)
+				.append("answer", answer)
+				.append("wallNanos", wallNanos)
+				.append("cpuNanos", cpuNanos)
+				.append("allocatedBytes", allocatedBytes)
+				.toString();
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+/**
+ * The solution of one day, split into phases that can be run and measured separately.
+ *
+ * @param <T> the parsed puzzle input
+ */
+public interface Solver<T> {
+
+	int getDay();
+
+	T parse(InputSource input);
+
+	Object solvePart1(T input);
+
+	Object solvePart2(T input);
+
+	/**
+	 * The puzzle input bundled next to the solver, the resource {@code input} in its package.
+	 */
+	default InputSource getDefaultInput() {
+		return InputSource.classpath(getClass(), "input");
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.List;
+
+public final class SolverResult {
+
+	private final int day;
+
+	private final String input;
+
+	private final List<PhaseResult> phases;
+
+	SolverResult(int day, String input, List<PhaseResult> phases) {
+		this.day = day;
+		this.input = input;
+		this.phases = List.copyOf(phases);
+	}
+
+	public int getDay() {
+		return day;
+	}
+
+	public String getInput() {
+		return input;
+	}
+
+	public List<PhaseResult> getPhases() {
+		return phases;
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this, ToStringStyle.SIMPLE_STYLE)
+				.append("day", day)
+				.append("input", input)
+				.append("phases", phases)
+				.toString();
+	}
+}
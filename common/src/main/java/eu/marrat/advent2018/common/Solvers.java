@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.common;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+public final class Solvers {
+
+	private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * Entry point for the {@code main} method of a day: solves the input given as first argument (or the default
+	 * input of the solver) and prints both answers.
+	 */
+	public static void main(Solver<?> solver, String[] args) {
+		SolverResult result = run(solver, InputSource.fromArgs(args, solver.getDefaultInput()));
+
+		result.getPhases().stream()
+				.filter(p -> p.getPhase() != Phase.PARSE)
+				.map(PhaseResult::getAnswer)
+				.forEach(System.out::println);
+	}
+
+	/**
+	 * Runs all phases of the solver on the current thread and measures each of them.
+	 */
+	public static <T> SolverResult run(Solver<T> solver, InputSource input) {
+		List<PhaseResult> phases = new ArrayList<>();
+
+		T parsed = measure(Phase.PARSE, () -> solver.parse(input), phases);
+		measure(Phase.PART1, () -> solver.solvePart1(parsed), phases);
+		measure(Phase.PART2, () -> solver.solvePart2(parsed), phases);
+
+		return new SolverResult(solver.getDay(), input.toString(), phases);
+	}
+
+	/**
+	 * Selects an algorithm variant of a solver through a system property, e.g. {@code -Dday01.repeatSearch=analytic}.
+	 * The value is matched case-insensitively against the constant names, the default is used if the property is unset.
+	 */
+	public static <E extends Enum<E>> E getMode(String property, E defaultMode) {
+		String value = System.getProperty(property);
+
+		if (value == null || value.isBlank()) {
+			return defaultMode;
+		}
+
+		Class<E> type = defaultMode.getDeclaringClass();
+
+		try {
+			return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(String.format("Invalid value '%s' for %s, expected one of %s",
+					value, property, Arrays.toString(type.getEnumConstants())), e);
+		}
+	}
+
+	private static <R> R measure(Phase phase, Supplier<R> supplier, List<PhaseResult> phases) {
+		long cpu = getCpuNanos();
+		long allocated = getAllocatedBytes();
+		long wall = System.nanoTime();
+
+		R value = supplier.get();
+
+		wall = System.nanoTime() - wall;
+		allocated = allocated < 0 ? -1 : getAllocatedBytes() - allocated;
+		cpu = cpu < 0 ? -1 : getCpuNanos() - cpu;
+
+		phases.add(new PhaseResult(phase, phase == Phase.PARSE ? null : value, wall, cpu, allocated));
+
+		return value;
+	}
+
+	private static long getCpuNanos() {
+		return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+	}
+
+	private static long getAllocatedBytes() {
+		if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+
+			if (threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+				return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+
+		return -1;
+	}
+
+	private Solvers() {
+		throw new IllegalStateException();
+	}
+
+}
@@ -16,35 +16,223 @@
 
 package eu.marrat.advent2018.day01;
 
-import eu.marrat.advent2018.common.ClasspathFileUtils;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.LongHashSet;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.common.Solvers;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
-public class Day01 {
+public class Day01 implements Solver<long[]> {
+
+	/**
+	 * How part 2 searches for the first repeated frequency, selected with {@code -Dday01.repeatSearch=<mode>}.
+	 */
+	enum RepeatSearch {
+
+		/**
+		 * Replays the deltas until a frequency repeats, the number of passes grows with the range of the frequencies
+		 * divided by the drift per pass.
+		 */
+		BRUTE_FORCE {
+			@Override
+			long find(long[] deltas) {
+				return findFirstRepeatedFrequency(deltas);
+			}
+		},
+
+		/**
+		 * Computes the first repeat from a single pass over the deltas in O(n log n).
+		 */
+		ANALYTIC {
+			@Override
+			long find(long[] deltas) {
+				return findFirstRepeatedFrequencyAnalytically(deltas);
+			}
+		},
+
+		/**
+		 * Runs both algorithms and fails if they disagree.
+		 */
+		CROSS_CHECK {
+			@Override
+			long find(long[] deltas) {
+				long analytic = ANALYTIC.find(deltas);
+				long bruteForce = BRUTE_FORCE.find(deltas);
+
+				if (analytic != bruteForce) {
+					throw new IllegalStateException(String.format(
+							"Analytic search found %d, brute force found %d", analytic, bruteForce));
+				}
+
+				return analytic;
+			}
+		};
+
+		abstract long find(long[] deltas);
+
+	}
+
+	private final RepeatSearch repeatSearch;
+
+	public Day01() {
+		this(Solvers.getMode("day01.repeatSearch", RepeatSearch.ANALYTIC));
+	}
+
+	Day01(RepeatSearch repeatSearch) {
+		this.repeatSearch = repeatSearch;
+	}
 
 	public static void main(String[] args) {
-		List<Long> deltas = ClasspathFileUtils.getLongs("input")
-				.collect(Collectors.toList());
+		Solvers.main(new Day01(), args);
+	}
 
-		Set<Long> frequencies = new HashSet<>();
+	@Override
+	public int getDay() {
+		return 1;
+	}
+
+	@Override
+	public long[] parse(InputSource input) {
+		return input.longArray();
+	}
+
+	@Override
+	public Long solvePart1(long[] deltas) {
+		return LongStream.of(deltas).sum();
+	}
+
+	@Override
+	public Long solvePart2(long[] deltas) {
+		return repeatSearch.find(deltas);
+	}
+
+	static long findFirstRepeatedFrequency(long[] deltas) {
+		FrequencyTracker tracker = new FrequencyTracker(Integer.MAX_VALUE, deltas.length);
 
-		long currentFrequency = 0;
 		boolean found = false;
 
 		while (!found) {
-			for (Long delta : deltas) {
-				currentFrequency += delta;
-				if (!frequencies.add(currentFrequency)) {
-					found = true;
-					break;
+			found = tracker.accept(deltas);
+		}
+
+		return tracker.getFirstRepeat().getAsLong();
+	}
+
+	/**
+	 * After the first pass, every frequency of pass {@code k} is the one of the first pass shifted by {@code k} times
+	 * the drift (the sum of all deltas). A frequency of the first pass can therefore only ever hit frequencies with the
+	 * same residue modulo the drift, and the first one it hits is the next of them in the direction of the drift. So
+	 * it is enough to sort the first pass by residue and value and to pick, among neighbours of the same residue, the
+	 * pair that meets first.
+	 */
+	static long findFirstRepeatedFrequencyAnalytically(long[] deltas) {
+		if (deltas.length == 0) {
+			throw new IllegalArgumentException("No deltas");
+		}
+
+		long[] frequencies = new long[deltas.length];
+		LongHashSet seen = new LongHashSet(deltas.length);
+		long currentFrequency = 0;
+
+		for (int i = 0; i < deltas.length; ++i) {
+			currentFrequency += deltas[i];
+			frequencies[i] = currentFrequency;
+			if (!seen.add(currentFrequency)) {
+				return currentFrequency;
+			}
+		}
+
+		long drift = currentFrequency;
+
+		if (drift == 0) {
+			return frequencies[0];
+		}
+
+		long period = Math.abs(drift);
+		int direction = Long.signum(drift);
+
+		int[] order = sortByResidueAndValue(frequencies, period, direction);
+
+		long firstRepeat = 0;
+		long firstRepeatTime = Long.MAX_VALUE;
+
+		for (int k = 1; k < order.length; ++k) {
+			int from = order[k - 1];
+			int to = order[k];
+
+			if (Math.floorMod(frequencies[from], period) == Math.floorMod(frequencies[to], period)) {
+				long passes = (frequencies[to] - frequencies[from]) / drift;
+				long time = Math.addExact(Math.multiplyExact(passes, deltas.length), from);
+
+				if (time < firstRepeatTime) {
+					firstRepeatTime = time;
+					firstRepeat = frequencies[to];
 				}
 			}
 		}
 
-		System.out.println(currentFrequency);
+		if (firstRepeatTime == Long.MAX_VALUE) {
+			throw new IllegalArgumentException("No frequency is ever reached twice");
+		}
+
+		return firstRepeat;
+	}
+
+	/**
+	 * Returns the indices of the frequencies ordered by residue modulo the period and then by value in the given
+	 * direction. Within a residue, the value only depends on the quotient, so residue, quotient and index are packed
+	 * into a single {@code long} per frequency and sorted as primitives. Only if the three of them do not fit into 63
+	 * bits, the indices are sorted with a comparator.
+	 */
+	private static int[] sortByResidueAndValue(long[] frequencies, long period, int direction) {
+		long minQuotient = Long.MAX_VALUE;
+		long maxQuotient = Long.MIN_VALUE;
+
+		for (long frequency : frequencies) {
+			long quotient = direction * Math.floorDiv(frequency, period);
+			minQuotient = Math.min(minQuotient, quotient);
+			maxQuotient = Math.max(maxQuotient, quotient);
+		}
+
+		int indexBits = bitLength(frequencies.length - 1);
+		int residueBits = bitLength(period - 1);
+		int quotientBits = maxQuotient - minQuotient < 0 ? Long.SIZE : bitLength(maxQuotient - minQuotient);
+
+		if (indexBits + residueBits + quotientBits >= Long.SIZE) {
+			return IntStream.range(0, frequencies.length)
+					.boxed()
+					.sorted(Comparator.<Integer>comparingLong(i -> Math.floorMod(frequencies[i], period))
+							.thenComparing((i, j) -> direction * Long.compare(frequencies[i], frequencies[j])))
+					.mapToInt(Integer::intValue)
+					.toArray();
+		}
+
+		long[] keys = new long[frequencies.length];
+
+		for (int i = 0; i < frequencies.length; ++i) {
+			long residue = Math.floorMod(frequencies[i], period);
+			long quotient = direction * Math.floorDiv(frequencies[i], period) - minQuotient;
+			keys[i] = (((residue << quotientBits) | quotient) << indexBits) | i;
+		}
+
+		Arrays.sort(keys);
+
+		long indexMask = (1L << indexBits) - 1;
+		int[] order = new int[keys.length];
+
+		for (int i = 0; i < keys.length; ++i) {
+			order[i] = (int) (keys[i] & indexMask);
+		}
+
+		return order;
+	}
+
+	private static int bitLength(long value) {
+		return Long.SIZE - Long.numberOfLeadingZeros(value);
 	}
 
 }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day01;
+
+import eu.marrat.advent2018.common.LongHashSet;
+
+import java.util.OptionalLong;
+
+/**
+ * Follows the frequency while deltas arrive one by one or in batches, e.g. from a live feed, and notices the first
+ * frequency that is reached twice as soon as it happens.
+ * <p>
+ * Until then every distinct frequency has to be remembered, at most {@code maxFrequencies} of them; afterwards the
+ * tracker only keeps the current frequency.
+ */
+public final class FrequencyTracker {
+
+	private final int maxFrequencies;
+
+	private LongHashSet frequencies;
+
+	private long frequency;
+
+	private long count;
+
+	private Long firstRepeat;
+
+	public FrequencyTracker() {
+		this(Integer.MAX_VALUE);
+	}
+
+	public FrequencyTracker(int maxFrequencies) {
+		this(maxFrequencies, 0);
+	}
+
+	/**
+	 * Sizes the set of frequencies for {@code expectedFrequencies} of them up front, e.g. the length of one pass over
+	 * the deltas, so it does not have to grow while they arrive.
+	 */
+	public FrequencyTracker(int maxFrequencies, int expectedFrequencies) {
+		if (maxFrequencies < 1) {
+			throw new IllegalArgumentException(String.format("Invalid maximum number of frequencies: %d", maxFrequencies));
+		}
+
+		this.maxFrequencies = maxFrequencies;
+		this.frequencies = expectedFrequencies > 0
+				? new LongHashSet(Math.min(expectedFrequencies, maxFrequencies))
+				: new LongHashSet();
+	}
+
+	/**
+	 * Applies one delta and returns {@code true} once the first repeated frequency is known.
+	 *
+	 * @throws IllegalStateException if more than {@code maxFrequencies} distinct frequencies would have to be
+	 *                               remembered
+	 */
+	public boolean accept(long delta) {
+		frequency += delta;
+		++count;
+
+		if (firstRepeat == null) {
+			if (!frequencies.add(frequency)) {
+				firstRepeat = frequency;
+				frequencies = null;
+			} else if (frequencies.size() > maxFrequencies) {
+				throw new IllegalStateException(String.format(
+						"No repeated frequency within %d distinct frequencies", maxFrequencies));
+			}
+		}
+
+		return firstRepeat != null;
+	}
+
+	/**
+	 * Applies all deltas of the batch, see {@link #accept(long)}.
+	 */
+	public boolean accept(long[] deltas) {
+		return accept(deltas, 0, deltas.length);
+	}
+
+	/**
+	 * Applies {@code length} deltas starting at {@code offset}, see {@link #accept(long)}.
+	 */
+	public boolean accept(long[] deltas, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > deltas.length - length) {
+			throw new IndexOutOfBoundsException(String.format(
+					"Range [%d, %d) out of bounds for length %d", offset, offset + length, deltas.length));
+		}
+
+		int end = offset + length;
+		int i = offset;
+
+		for (; i < end && firstRepeat == null; ++i) {
+			accept(deltas[i]);
+		}
+
+		// Once the repeat is known, only the frequency itself has to follow
+		count += end - i;
+
+		for (; i < end; ++i) {
+			frequency += deltas[i];
+		}
+
+		return firstRepeat != null;
+	}
+
+	/**
+	 * The frequency after all deltas accepted so far.
+	 */
+	public long getFrequency() {
+		return frequency;
+	}
+
+	/**
+	 * The number of deltas accepted so far.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	public OptionalLong getFirstRepeat() {
+		return firstRepeat == null ? OptionalLong.empty() : OptionalLong.of(firstRepeat);
+	}
+
+}
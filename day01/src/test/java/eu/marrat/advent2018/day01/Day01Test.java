@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.day01;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Day01Test {
+
+	@Test
+	void findsRepeatWithinFirstPass() {
+		assertRepeat(1, 1, 1, -1);
+		assertRepeat(0, 3, -3, 2, -2);
+	}
+
+	@Test
+	void findsRepeatWithoutDrift() {
+		assertRepeat(1, 1, -1);
+	}
+
+	@Test
+	void findsRepeatWithPositiveDrift() {
+		assertRepeat(2, 1, -2, 3, 1);
+		assertRepeat(14, 7, 7, -2, -7, -4);
+	}
+
+	@Test
+	void findsRepeatWithNegativeDrift() {
+		assertRepeat(-3, -1, -2, 1);
+		assertRepeat(5, -6, 3, 8, 5, -6);
+	}
+
+	@Test
+	void findsEarliestRepeatAmongFrequenciesWithSameResidue() {
+		// 3, 6, 10, 8 and 4 leave residues 1, 0, 0, 0 and 0 modulo the drift of 4
+		assertRepeat(10, 3, 3, 4, -2, -4);
+	}
+
+	@Test
+	void findsRepeatWhenPackedKeysDoNotFit() {
+		// Residues need 42 bits, quotients 21 bits and indices 1 bit, so the indices are sorted with a comparator
+		assertRepeat(1L << 42, -(1L << 62), (1L << 62) + (1L << 42));
+	}
+
+	@Test
+	void rejectsDeltasWithoutRepeat() {
+		assertThrows(IllegalArgumentException.class, () -> Day01.findFirstRepeatedFrequencyAnalytically(new long[]{1, 1}));
+		assertThrows(IllegalArgumentException.class, () -> Day01.findFirstRepeatedFrequencyAnalytically(new long[0]));
+	}
+
+	@Test
+	void agreesWithBruteForce() {
+		Random random = new Random(1);
+
+		for (int i = 0; i < 10_000; ++i) {
+			long[] deltas = random.longs(1 + random.nextInt(10), -20, 21).toArray();
+
+			if (hasRepeat(deltas)) {
+				assertEquals(Day01.findFirstRepeatedFrequency(deltas),
+						Day01.findFirstRepeatedFrequencyAnalytically(deltas));
+			} else {
+				assertThrows(IllegalArgumentException.class, () -> Day01.findFirstRepeatedFrequencyAnalytically(deltas));
+			}
+		}
+	}
+
+	/**
+	 * Some frequency repeats if there is no drift or if two frequencies of the first pass have the same residue modulo
+	 * the drift.
+	 */
+	private static boolean hasRepeat(long[] deltas) {
+		long[] frequencies = new long[deltas.length];
+		long frequency = 0;
+
+		for (int i = 0; i < deltas.length; ++i) {
+			frequency += deltas[i];
+			frequencies[i] = frequency;
+		}
+
+		if (frequency == 0) {
+			return true;
+		}
+
+		for (int i = 0; i < frequencies.length; ++i) {
+			for (int j = i + 1; j < frequencies.length; ++j) {
+				if (Math.floorMod(frequencies[i], frequency) == Math.floorMod(frequencies[j], frequency)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private static void assertRepeat(long expected, long... deltas) {
+		assertEquals(expected, Day01.findFirstRepeatedFrequencyAnalytically(deltas));
+		assertEquals(expected, Day01.findFirstRepeatedFrequency(deltas));
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day02;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * A Burkhard-Keller tree of IDs under the Levenshtein distance.
+ * <p>
+ * Every child hangs off its parent at the edge labelled with their distance. By the triangle inequality, a query
+ * within distance {@code k} of a node at distance {@code d} only has to descend into the edges {@code d - k} to
+ * {@code d + k}, which prunes most of the tree for small {@code k}.
+ */
+public final class BkTree {
+
+	private static final LevenshteinDistance DISTANCE = LevenshteinDistance.getDefaultInstance();
+
+	private Node root;
+
+	private int size;
+
+	/**
+	 * Adds the ID unless it is already contained and returns whether it was added.
+	 */
+	public boolean add(String id) {
+		if (root == null) {
+			root = new Node(id);
+			++size;
+			return true;
+		}
+
+		Node node = root;
+
+		while (true) {
+			int distance = DISTANCE.apply(id, node.id);
+
+			if (distance == 0) {
+				return false;
+			}
+
+			Node child = node.children.get(distance);
+
+			if (child == null) {
+				node.children.put(distance, new Node(id));
+				++size;
+				return true;
+			}
+
+			node = child;
+		}
+	}
+
+	/**
+	 * Returns all contained IDs within the threshold of the query, including the query itself if it is contained.
+	 */
+	public List<Match> query(String query, int threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException(String.format("Negative threshold: %d", threshold));
+		}
+
+		List<Match> matches = new ArrayList<>();
+
+		if (root == null) {
+			return matches;
+		}
+
+		Deque<Node> pending = new ArrayDeque<>();
+		pending.push(root);
+
+		while (!pending.isEmpty()) {
+			Node node = pending.pop();
+			int distance = DISTANCE.apply(query, node.id);
+
+			if (distance <= threshold) {
+				matches.add(new Match(node.id, query, distance));
+			}
+
+			for (Node child : node.children.subMap(distance - threshold, true, distance + threshold, true).values()) {
+				pending.push(child);
+			}
+		}
+
+		return matches;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private static class Node {
+
+		private final String id;
+
+		private final TreeMap<Integer, Node> children = new TreeMap<>();
+
+		Node(String id) {
+			this.id = id;
+		}
+
+	}
+
+}
@@ -16,32 +16,152 @@
 
 package eu.marrat.advent2018.day02;
 
-import eu.marrat.advent2018.common.ClasspathFileUtils;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.common.Solvers;
 import org.apache.commons.text.similarity.LevenshteinDistance;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class Day02 {
+public class Day02 implements Solver<List<Day02.Id>> {
+
+	/**
+	 * How part 2 finds the IDs that differ by one character, selected with {@code -Dday02.matcher=<mode>}.
+	 */
+	enum Matcher {
+
+		/**
+		 * Hashes every ID once per position with that position masked out, IDs of the same length that collide
+		 * differ in that position only. O(n * L * log n) for sorting the hashes of every position, but finds
+		 * substitutions only.
+		 */
+		INDEX {
+			@Override
+			Set<Set<String>> find(List<Id> ids) {
+				return findIdsWithHammingDistanceOne(ids);
+			}
+		},
+
+		/**
+		 * Computes the Levenshtein distance of every pair, which also finds IDs that differ by an inserted or removed
+		 * character. O(n² * L²).
+		 */
+		LEVENSHTEIN {
+			@Override
+			Set<Set<String>> find(List<Id> ids) {
+				return findIdsWithDistanceOne(ids);
+			}
+		},
+
+		/**
+		 * Like {@link #LEVENSHTEIN}, but on all cores and giving up on a pair after the second difference.
+		 */
+		PAIRWISE {
+			@Override
+			Set<Set<String>> find(List<Id> ids) {
+				return findIdsWithDistanceOnePairwise(ids);
+			}
+		},
+
+		/**
+		 * Like {@link #LEVENSHTEIN}, but looks the IDs up in a {@link BkTree} instead of comparing every pair.
+		 */
+		BK_TREE {
+			@Override
+			Set<Set<String>> find(List<Id> ids) {
+				return findIdsWithDistanceOneInBkTree(ids);
+			}
+		};
+
+		abstract Set<Set<String>> find(List<Id> ids);
+
+	}
+
+	/**
+	 * Whether part 1 counts on one thread or on a parallel stream, selected with {@code -Dday02.checksum=<mode>}.
+	 */
+	enum Checksum {
+		SEQUENTIAL,
+		PARALLEL
+	}
+
+	private static final long HASH_BASE = 1_000_003;
+
+	private final Matcher matcher;
+
+	private final Checksum checksum;
+
+	public Day02() {
+		this(Solvers.getMode("day02.matcher", Matcher.INDEX), Solvers.getMode("day02.checksum", Checksum.SEQUENTIAL));
+	}
+
+	Day02(Matcher matcher, Checksum checksum) {
+		this.matcher = matcher;
+		this.checksum = checksum;
+	}
 
 	public static void main(String[] args) {
-		List<Id> ids = ClasspathFileUtils.getLines("input")
-				.map(Id::new)
-				.filter(Id::hasAnything)
-				.collect(Collectors.toList());
+		Solvers.main(new Day02(), args);
+	}
 
-		long twos = ids.stream()
-				.filter(Id::hasTwo)
-				.count();
+	@Override
+	public int getDay() {
+		return 2;
+	}
+
+	@Override
+	public Long solvePart1(List<Id> ids) {
+		return calculateChecksum(ids, checksum == Checksum.PARALLEL);
+	}
+
+	@Override
+	public Set<Set<String>> solvePart2(List<Id> ids) {
+		return matcher.find(ids);
+	}
+
+	@Override
+	public List<Id> parse(InputSource input) {
+		try (Stream<String> lines = input.lines()) {
+			return lines
+					.map(Id::new)
+					.filter(Id::hasAnything)
+					.collect(Collectors.toList());
+		}
+	}
+
+	static long calculateChecksum(List<Id> ids) {
+		return calculateChecksum(ids, false);
+	}
+
+	/**
+	 * Counts both letter groups in a single pass into one {@code long[2]} per thread, the twos first and the threes
+	 * second, so a parallel stream needs no boxed partial results.
+	 */
+	static long calculateChecksum(List<Id> ids, boolean parallel) {
+		Stream<Id> stream = parallel ? ids.parallelStream() : ids.stream();
 
-		long threes = ids.stream()
-				.filter(Id::hasThree)
-				.count();
+		long[] counts = stream.collect(() -> new long[2], (c, id) -> {
+			if (id.hasTwo()) {
+				++c[0];
+			}
+			if (id.hasThree()) {
+				++c[1];
+			}
+		}, (c, other) -> {
+			c[0] += other[0];
+			c[1] += other[1];
+		});
 
-		System.out.println(twos * threes);
+		return counts[0] * counts[1];
+	}
 
+	static Set<Set<String>> findIdsWithDistanceOne(List<Id> ids) {
 		Set<Set<String>> stringGroupsWithDistanceOne = new HashSet<>();
 
 		for (Id id1 : ids) {
@@ -53,11 +173,108 @@ public class Day02 {
 			}
 		}
 
-		System.out.println(stringGroupsWithDistanceOne);
+		return stringGroupsWithDistanceOne;
+	}
+
+	static Set<Set<String>> findIdsWithDistanceOnePairwise(List<Id> ids) {
+		List<String> strings = ids.stream()
+				.map(id -> id.string)
+				.distinct()
+				.collect(Collectors.toList());
+
+		return PairwiseSearch.find(strings, StringDistance.LEVENSHTEIN, 1).stream()
+				.map(m -> Set.of(m.getFirst(), m.getSecond()))
+				.collect(Collectors.toSet());
+	}
+
+	static Set<Set<String>> findIdsWithDistanceOneInBkTree(List<Id> ids) {
+		List<String> strings = ids.stream()
+				.map(id -> id.string)
+				.collect(Collectors.toList());
+
+		return NearDuplicates.find(strings, StringDistance.LEVENSHTEIN, 1).stream()
+				.map(m -> Set.of(m.getFirst(), m.getSecond()))
+				.collect(Collectors.toSet());
+	}
+
+	static Set<Set<String>> findIdsWithHammingDistanceOne(List<Id> ids) {
+		Map<Integer, List<String>> stringsByLength = ids.stream()
+				.map(id -> id.string)
+				.distinct()
+				.collect(Collectors.groupingBy(String::length));
+
+		Set<Set<String>> stringGroupsWithDistanceOne = new HashSet<>();
+
+		for (List<String> strings : stringsByLength.values()) {
+			int length = strings.get(0).length();
+
+			long[] hashes = strings.stream()
+					.mapToLong(Day02::hash)
+					.toArray();
+
+			// The masked hash folded to 32 bits in the upper and the index of the string in the lower half
+			long[] keys = new long[strings.size()];
+
+			// Weight of the character at position p in the hash, HASH_BASE^(length - 1 - p)
+			long weight = 1;
+
+			for (int p = length - 1; p >= 0; --p) {
+				for (int i = 0; i < strings.size(); ++i) {
+					long masked = hashes[i] - strings.get(i).charAt(p) * weight;
+					keys[i] = (masked ^ masked >>> 32) << 32 | i;
+				}
+
+				Arrays.sort(keys);
+
+				for (int from = 0, to; from < keys.length; from = to) {
+					to = from + 1;
+					while (to < keys.length && keys[to] >>> 32 == keys[from] >>> 32) {
+						++to;
+					}
+
+					for (int i = from; i < to; ++i) {
+						for (int j = i + 1; j < to; ++j) {
+							String first = strings.get((int) keys[i]);
+							String second = strings.get((int) keys[j]);
+
+							if (differOnlyAt(first, second, p)) {
+								stringGroupsWithDistanceOne.add(Set.of(first, second));
+							}
+						}
+					}
+				}
+
+				weight *= HASH_BASE;
+			}
+		}
+
+		return stringGroupsWithDistanceOne;
+	}
+
+	private static long hash(String string) {
+		long hash = 0;
+
+		for (int i = 0; i < string.length(); ++i) {
+			hash = hash * HASH_BASE + string.charAt(i);
+		}
+
+		return hash;
+	}
+
+	/**
+	 * Rules out hash collisions, also those of the folded hashes: equal length is guaranteed, so comparing both sides
+	 * of the position is enough.
+	 */
+	private static boolean differOnlyAt(String a, String b, int position) {
+		return a.charAt(position) != b.charAt(position)
+				&& a.regionMatches(0, b, 0, position)
+				&& a.regionMatches(position + 1, b, position + 1, a.length() - position - 1);
 	}
 
 	static class Id {
 
+		private static final int LETTERS = 26;
+
 		private final String string;
 
 		private final boolean hasTwo;
@@ -65,17 +282,67 @@ public class Day02 {
 		private final boolean hasThree;
 
 		Id(String string) {
-			Set<Long> twosAndThrees = string.chars()
-					.boxed()
-					.collect(Collectors.groupingBy(i -> i, Collectors.counting()))
-					.values().stream()
-					.filter(l -> l == 2 || l == 3)
-					.collect(Collectors.toSet());
-
 			this.string = string;
 
-			hasTwo = twosAndThrees.contains(2L);
-			hasThree = twosAndThrees.contains(3L);
+			// One bit per letter in the mask of its count so far, letters seen more than three times are in none of them
+			int once = 0;
+			int twice = 0;
+			int thrice = 0;
+			int more = 0;
+			boolean lowercase = true;
+
+			for (int i = 0; i < string.length() && lowercase; ++i) {
+				int letter = string.charAt(i) - 'a';
+
+				if (letter >= 0 && letter < LETTERS) {
+					int bit = 1 << letter;
+					int seen = once | twice | thrice | more;
+
+					more |= thrice & bit;
+					thrice = (thrice & ~bit) | (twice & bit);
+					twice = (twice & ~bit) | (once & bit);
+					once = (once & ~bit) | (bit & ~seen);
+				} else {
+					lowercase = false;
+				}
+			}
+
+			if (lowercase) {
+				hasTwo = twice != 0;
+				hasThree = thrice != 0;
+			} else {
+				int[] counts = countSorted(string);
+				boolean two = false;
+				boolean three = false;
+
+				for (int count : counts) {
+					two |= count == 2;
+					three |= count == 3;
+				}
+
+				hasTwo = two;
+				hasThree = three;
+			}
+		}
+
+		/**
+		 * Fallback for IDs with characters other than a to z: the length of every run of equal characters.
+		 */
+		private static int[] countSorted(String string) {
+			char[] chars = string.toCharArray();
+			Arrays.sort(chars);
+
+			int[] counts = new int[chars.length];
+			int runs = 0;
+
+			for (int i = 0; i < chars.length; ++i) {
+				if (i == 0 || chars[i] != chars[i - 1]) {
+					++runs;
+				}
+				++counts[runs - 1];
+			}
+
+			return counts;
 		}
 
 		boolean hasTwo() {
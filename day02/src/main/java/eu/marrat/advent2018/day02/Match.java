@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day02;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * Two IDs and their distance.
+ */
+public final class Match {
+
+	private final String first;
+
+	private final String second;
+
+	private final int distance;
+
+	public Match(String first, String second, int distance) {
+		this.first = first;
+		this.second = second;
+		this.distance = distance;
+	}
+
+	public String getFirst() {
+		return first;
+	}
+
+	public String getSecond() {
+		return second;
+	}
+
+	public int getDistance() {
+		return distance;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s ~ %s (%d)", first, second, distance);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		Match that = (Match) o;
+
+		return new EqualsBuilder()
+				.append(first, that.first)
+				.append(second, that.second)
+				.append(distance, that.distance)
+				.isEquals();
+	}
+
+	@Override
+	public int hashCode() {
+		return new HashCodeBuilder(17, 37)
+				.append(first)
+				.append(second)
+				.append(distance)
+				.toHashCode();
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day02;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Finds all pairs of distinct IDs within a distance threshold without comparing every pair.
+ * <p>
+ * Levenshtein distances are searched in a {@link BkTree}. Hamming distances use the pigeonhole principle instead:
+ * when IDs are cut into {@code k + 1} segments, two IDs within distance {@code k} agree on at least one whole segment,
+ * so only IDs sharing a segment have to be compared.
+ */
+public final class NearDuplicates {
+
+	/**
+	 * Returns every pair of distinct IDs within the threshold, duplicates in the input are ignored.
+	 */
+	public static List<Match> find(Collection<String> ids, StringDistance distance, int threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException(String.format("Negative threshold: %d", threshold));
+		}
+
+		List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+
+		switch (distance) {
+			case HAMMING:
+				return findWithSegments(distinctIds, threshold);
+			case LEVENSHTEIN:
+				return findWithBkTree(distinctIds, threshold);
+			default:
+				throw new IllegalStateException();
+		}
+	}
+
+	private static List<Match> findWithBkTree(List<String> ids, int threshold) {
+		BkTree tree = new BkTree();
+		List<Match> matches = new ArrayList<>();
+
+		// Querying before adding finds every pair exactly once
+		for (String id : ids) {
+			matches.addAll(tree.query(id, threshold));
+			tree.add(id);
+		}
+
+		return matches;
+	}
+
+	private static List<Match> findWithSegments(List<String> ids, int threshold) {
+		Map<Integer, List<String>> idsByLength = ids.stream()
+				.collect(Collectors.groupingBy(String::length));
+
+		List<Match> matches = new ArrayList<>();
+
+		for (List<String> sameLength : idsByLength.values()) {
+			int length = sameLength.get(0).length();
+			// IDs not longer than the threshold get an empty segment, which makes them all candidates
+			int segments = Math.min(threshold + 1, length + 1);
+
+			// Start of each segment, the last entry is the end of the ID
+			int[] bounds = new int[segments + 1];
+			for (int s = 0; s <= segments; ++s) {
+				bounds[s] = s * length / segments;
+			}
+
+			for (int s = 0; s < segments; ++s) {
+				Map<String, List<String>> buckets = new HashMap<>();
+
+				for (String id : sameLength) {
+					buckets.computeIfAbsent(id.substring(bounds[s], bounds[s + 1]), k -> new ArrayList<>(2)).add(id);
+				}
+
+				for (List<String> bucket : buckets.values()) {
+					for (int i = 0; i < bucket.size(); ++i) {
+						for (int j = i + 1; j < bucket.size(); ++j) {
+							String a = bucket.get(i);
+							String b = bucket.get(j);
+
+							if (!agreeOnEarlierSegment(a, b, bounds, s)) {
+								int d = StringDistance.HAMMING.apply(a, b, threshold);
+
+								if (d >= 0) {
+									matches.add(new Match(a, b, d));
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+
+		return matches;
+	}
+
+	/**
+	 * A pair sharing several segments is only reported for the first of them.
+	 */
+	private static boolean agreeOnEarlierSegment(String a, String b, int[] bounds, int segment) {
+		for (int s = 0; s < segment; ++s) {
+			if (a.regionMatches(bounds[s], b, bounds[s], bounds[s + 1] - bounds[s])) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private NearDuplicates() {
+		throw new IllegalStateException();
+	}
+
+}
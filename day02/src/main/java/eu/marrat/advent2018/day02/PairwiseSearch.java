@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day02;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Compares every pair of IDs on a fork/join pool. Works for any {@link StringDistance} and threshold, unlike the hash
+ * index of {@link Day02#findIdsWithHammingDistanceOne(java.util.List)}, but is quadratic in the number of IDs.
+ * <p>
+ * The upper triangle of the pair matrix is cut into square tiles of {@value #TILE_SIZE} IDs, so that both rows of a
+ * tile stay in the cache. Every task collects its matches in its own list, the lists are only concatenated when the
+ * tasks are joined.
+ */
+public final class PairwiseSearch {
+
+	static final int TILE_SIZE = 256;
+
+	/**
+	 * Finds all pairs of IDs within the threshold on the common pool.
+	 */
+	public static List<Match> find(List<String> ids, StringDistance distance, int threshold) {
+		return find(ids, distance, threshold, ForkJoinPool.commonPool());
+	}
+
+	public static List<Match> find(List<String> ids, StringDistance distance, int threshold, ForkJoinPool pool) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException(String.format("Negative threshold: %d", threshold));
+		}
+
+		String[] strings = ids.toArray(new String[0]);
+		int blocks = (strings.length + TILE_SIZE - 1) / TILE_SIZE;
+
+		int[] tileRows = new int[blocks * (blocks + 1) / 2];
+		int[] tileColumns = new int[tileRows.length];
+
+		for (int row = 0, tile = 0; row < blocks; ++row) {
+			for (int column = row; column < blocks; ++column, ++tile) {
+				tileRows[tile] = row;
+				tileColumns[tile] = column;
+			}
+		}
+
+		return pool.invoke(new TileTask(strings, distance, threshold, tileRows, tileColumns, 0, tileRows.length));
+	}
+
+	private static class TileTask extends RecursiveTask<List<Match>> {
+
+		private final String[] strings;
+
+		private final StringDistance distance;
+
+		private final int threshold;
+
+		private final int[] tileRows;
+
+		private final int[] tileColumns;
+
+		private final int from;
+
+		private final int to;
+
+		TileTask(String[] strings, StringDistance distance, int threshold, int[] tileRows, int[] tileColumns, int from, int to) {
+			this.strings = strings;
+			this.distance = distance;
+			this.threshold = threshold;
+			this.tileRows = tileRows;
+			this.tileColumns = tileColumns;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected List<Match> compute() {
+			if (to - from > 1) {
+				int middle = (from + to) >>> 1;
+
+				TileTask left = new TileTask(strings, distance, threshold, tileRows, tileColumns, from, middle);
+				TileTask right = new TileTask(strings, distance, threshold, tileRows, tileColumns, middle, to);
+
+				left.fork();
+				List<Match> matches = right.compute();
+				matches.addAll(left.join());
+
+				return matches;
+			}
+
+			List<Match> matches = new ArrayList<>();
+
+			for (int tile = from; tile < to; ++tile) {
+				compareTile(tileRows[tile] * TILE_SIZE, tileColumns[tile] * TILE_SIZE, matches);
+			}
+
+			return matches;
+		}
+
+		private void compareTile(int rowStart, int columnStart, List<Match> matches) {
+			int rowEnd = Math.min(rowStart + TILE_SIZE, strings.length);
+			int columnEnd = Math.min(columnStart + TILE_SIZE, strings.length);
+
+			for (int i = rowStart; i < rowEnd; ++i) {
+				// Tiles on the diagonal only compare the pairs above it
+				for (int j = Math.max(columnStart, i + 1); j < columnEnd; ++j) {
+					int d = distance.apply(strings[i], strings[j], threshold);
+
+					if (d >= 0) {
+						matches.add(new Match(strings[i], strings[j], d));
+					}
+				}
+			}
+		}
+
+	}
+
+	private PairwiseSearch() {
+		throw new IllegalStateException();
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day02;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+
+/**
+ * Distances between IDs that give up as soon as the result is known to exceed a threshold.
+ */
+public enum StringDistance {
+
+	/**
+	 * Number of positions with different characters, only defined for strings of equal length.
+	 */
+	HAMMING {
+		@Override
+		public int apply(CharSequence a, CharSequence b, int threshold) {
+			if (a.length() != b.length()) {
+				return -1;
+			}
+
+			int mismatches = 0;
+
+			for (int i = 0; i < a.length(); ++i) {
+				if (a.charAt(i) != b.charAt(i) && ++mismatches > threshold) {
+					return -1;
+				}
+			}
+
+			return mismatches;
+		}
+	},
+
+	/**
+	 * Number of inserted, removed or substituted characters.
+	 */
+	LEVENSHTEIN {
+		@Override
+		public int apply(CharSequence a, CharSequence b, int threshold) {
+			if (Math.abs(a.length() - b.length()) > threshold) {
+				return -1;
+			}
+
+			// Only computes the diagonal band of width 2 * threshold + 1
+			return new LevenshteinDistance(threshold).apply(a, b);
+		}
+	};
+
+	/**
+	 * Returns the distance, or {@code -1} if it is greater than the threshold.
+	 */
+	public abstract int apply(CharSequence a, CharSequence b, int threshold);
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * One atomic counter per square inch of the bounding box of the claims, all threads applying claims to the same array.
+ * Mostly there to compare with {@link BandedClaimGrid}, which avoids both the atomic updates and the contention.
+ */
+class AtomicClaimGrid implements ClaimGrid {
+
+    private final int originX;
+
+    private final int originY;
+
+    private final int width;
+
+    private final AtomicIntegerArray cells;
+
+    private AtomicClaimGrid(BoundingBox box) {
+        this.originX = box.getX();
+        this.originY = box.getY();
+        this.width = box.getWidth();
+        this.cells = new AtomicIntegerArray(box.getArraySize(0, 0));
+    }
+
+    static AtomicClaimGrid covering(ClaimTable claims) {
+        return new AtomicClaimGrid(BoundingBox.of(claims));
+    }
+
+    @Override
+    public void add(int x, int y, int right, int bottom) {
+        for (int row = y; row < bottom; ++row) {
+            int offset = (row - originY) * width - originX;
+
+            for (int column = x; column < right; ++column) {
+                cells.incrementAndGet(offset + column);
+            }
+        }
+    }
+
+    @Override
+    public void addAll(ClaimTable claims) {
+        IntStream.range(0, claims.size())
+                .parallel()
+                .forEach(i -> add(claims.getX(i), claims.getY(i), claims.getRight(i), claims.getBottom(i)));
+    }
+
+    @Override
+    public long countOverlaps() {
+        return IntStream.range(0, cells.length())
+                .parallel()
+                .filter(i -> cells.get(i) > 1)
+                .count();
+    }
+
+    @Override
+    public boolean isUnique(int x, int y, int right, int bottom) {
+        for (int row = y; row < bottom; ++row) {
+            int offset = (row - originY) * width - originX;
+
+            for (int column = x; column < right; ++column) {
+                if (cells.get(offset + column) != 1) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+}
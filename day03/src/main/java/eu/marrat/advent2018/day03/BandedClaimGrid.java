@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+import java.util.stream.IntStream;
+
+/**
+ * A saturating byte grid over the bounding box of the claims, split into bands of rows with an array each.
+ * <p>
+ * {@link #addAll(ClaimTable)} first hands every claim to the bands it touches, then fills the bands in parallel. Every
+ * band is written by a single thread, so the counters need no synchronization, and separate arrays keep the threads
+ * from sharing cache lines.
+ */
+class BandedClaimGrid implements ClaimGrid {
+
+    private static final byte SATURATED = 2;
+
+    private static final int BANDS_PER_THREAD = 4;
+
+    private final int originX;
+
+    private final int originY;
+
+    private final int width;
+
+    private final int height;
+
+    private final int bandHeight;
+
+    private final byte[][] bands;
+
+    private BandedClaimGrid(BoundingBox box, int bandCount) {
+        // Same limit as the dense grid, which keeps all offsets within an int
+        box.getArraySize(0, 0);
+
+        this.originX = box.getX();
+        this.originY = box.getY();
+        this.width = box.getWidth();
+        this.height = box.getHeight();
+        this.bandHeight = Math.max(1, (height + bandCount - 1) / bandCount);
+        this.bands = new byte[(height + bandHeight - 1) / bandHeight][];
+
+        for (int band = 0; band < bands.length; ++band) {
+            bands[band] = new byte[width * Math.min(bandHeight, height - band * bandHeight)];
+        }
+    }
+
+    static BandedClaimGrid covering(ClaimTable claims) {
+        return new BandedClaimGrid(BoundingBox.of(claims), Runtime.getRuntime().availableProcessors() * BANDS_PER_THREAD);
+    }
+
+    @Override
+    public void add(int x, int y, int right, int bottom) {
+        for (int band = firstBand(y); band <= lastBand(y, bottom); ++band) {
+            fill(band, x, y, right, bottom);
+        }
+    }
+
+    /**
+     * Collects the claim indices of every band in two passes, one counting and one filling them.
+     */
+    @Override
+    public void addAll(ClaimTable claims) {
+        int[] counts = new int[bands.length];
+
+        for (int i = 0; i < claims.size(); ++i) {
+            for (int band = firstBand(claims.getY(i)); band <= lastBand(claims.getY(i), claims.getBottom(i)); ++band) {
+                ++counts[band];
+            }
+        }
+
+        int[][] claimsByBand = new int[bands.length][];
+
+        for (int band = 0; band < bands.length; ++band) {
+            claimsByBand[band] = new int[counts[band]];
+            counts[band] = 0;
+        }
+
+        for (int i = 0; i < claims.size(); ++i) {
+            for (int band = firstBand(claims.getY(i)); band <= lastBand(claims.getY(i), claims.getBottom(i)); ++band) {
+                claimsByBand[band][counts[band]++] = i;
+            }
+        }
+
+        IntStream.range(0, bands.length)
+                .parallel()
+                .forEach(band -> {
+                    for (int i : claimsByBand[band]) {
+                        fill(band, claims.getX(i), claims.getY(i), claims.getRight(i), claims.getBottom(i));
+                    }
+                });
+    }
+
+    @Override
+    public long countOverlaps() {
+        return IntStream.range(0, bands.length)
+                .parallel()
+                .mapToLong(band -> {
+                    long count = 0;
+                    for (byte cell : bands[band]) {
+                        if (cell == SATURATED) {
+                            ++count;
+                        }
+                    }
+                    return count;
+                })
+                .sum();
+    }
+
+    @Override
+    public boolean isUnique(int x, int y, int right, int bottom) {
+        for (int row = y; row < bottom; ++row) {
+            byte[] cells = bands[(row - originY) / bandHeight];
+            int offset = ((row - originY) % bandHeight) * width - originX;
+
+            for (int column = x; column < right; ++column) {
+                if (cells[offset + column] != 1) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void fill(int band, int x, int y, int right, int bottom) {
+        byte[] cells = bands[band];
+        int top = originY + band * bandHeight;
+        int from = Math.max(y, top);
+        int to = Math.min(bottom, top + bandHeight);
+
+        for (int row = from; row < to; ++row) {
+            int offset = (row - top) * width - originX;
+
+            for (int column = x; column < right; ++column) {
+                if (cells[offset + column] < SATURATED) {
+                    ++cells[offset + column];
+                }
+            }
+        }
+    }
+
+    private int firstBand(int y) {
+        return (y - originY) / bandHeight;
+    }
+
+    /**
+     * The band of the last row of the claim, smaller than {@link #firstBand(int)} for claims without rows.
+     */
+    private int lastBand(int y, int bottom) {
+        return bottom == y ? -1 : (bottom - 1 - originY) / bandHeight;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+/**
+ * The smallest rectangle containing all claims, right and bottom are exclusive.
+ */
+class BoundingBox {
+
+    private final int x;
+
+    private final int y;
+
+    private final int right;
+
+    private final int bottom;
+
+    private BoundingBox(int x, int y, int right, int bottom) {
+        this.x = x;
+        this.y = y;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    static BoundingBox of(ClaimTable claims) {
+        if (claims.isEmpty()) {
+            return new BoundingBox(0, 0, 0, 0);
+        }
+
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+
+        for (int i = 0; i < claims.size(); ++i) {
+            minX = Math.min(minX, claims.getX(i));
+            minY = Math.min(minY, claims.getY(i));
+            maxX = Math.max(maxX, claims.getRight(i));
+            maxY = Math.max(maxY, claims.getBottom(i));
+        }
+
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    int getX() {
+        return x;
+    }
+
+    int getY() {
+        return y;
+    }
+
+    int getWidth() {
+        return right - x;
+    }
+
+    int getHeight() {
+        return bottom - y;
+    }
+
+    /**
+     * Number of cells of a grid covering the box with the given extra columns and rows, rejecting grids that do not
+     * fit in a single array.
+     */
+    int getArraySize(int extraColumns, int extraRows) {
+        long size = ((long) getWidth() + extraColumns) * ((long) getHeight() + extraRows);
+
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(String.format(
+                    "Bounding box of %dx%d is too large for a single array", getWidth(), getHeight()));
+        }
+
+        return (int) size;
+    }
+
+}
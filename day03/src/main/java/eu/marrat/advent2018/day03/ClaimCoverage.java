@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+import eu.marrat.advent2018.day03.Day03.Claim;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+
+/**
+ * All claims applied to the fabric once, which is enough to answer both parts.
+ */
+interface ClaimCoverage {
+
+    /**
+     * Number of square inches covered by more than one claim.
+     */
+    long countOverlaps();
+
+    /**
+     * The first claim no other claim overlaps.
+     */
+    Optional<Claim> findUniqueClaim();
+
+    /**
+     * Answers both parts from a grid all claims were added to, checking the claims for uniqueness in parallel if
+     * requested.
+     */
+    static ClaimCoverage of(ClaimGrid grid, ClaimTable claims, boolean parallel) {
+        return new ClaimCoverage() {
+
+            @Override
+            public long countOverlaps() {
+                return grid.countOverlaps();
+            }
+
+            @Override
+            public Optional<Claim> findUniqueClaim() {
+                IntStream indices = IntStream.range(0, claims.size());
+
+                OptionalInt unique = (parallel ? indices.parallel() : indices)
+                        .filter(i -> grid.isUnique(claims.getX(i), claims.getY(i),
+                                claims.getRight(i), claims.getBottom(i)))
+                        .findFirst();
+
+                return unique.isPresent() ? Optional.of(claims.get(unique.getAsInt())) : Optional.empty();
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+/**
+ * Counts how many claims cover each square inch. Only "once" and "more than once" matter for both parts, so
+ * implementations may saturate their counts at two.
+ * <p>
+ * Claims are passed as the rectangle {@code [x, right) x [y, bottom)}, read straight from the columns of a
+ * {@link ClaimTable}.
+ */
+interface ClaimGrid {
+
+    void add(int x, int y, int right, int bottom);
+
+    default void addAll(ClaimTable claims) {
+        for (int i = 0; i < claims.size(); ++i) {
+            add(claims.getX(i), claims.getY(i), claims.getRight(i), claims.getBottom(i));
+        }
+    }
+
+    /**
+     * Number of square inches covered by more than one claim.
+     */
+    long countOverlaps();
+
+    /**
+     * Whether no other claim covers any square inch of the given one, which must have been added before.
+     */
+    boolean isUnique(int x, int y, int right, int bottom);
+
+    /**
+     * A grid spanning the bounding box of all claims.
+     */
+    static ClaimGrid dense(ClaimTable claims) {
+        return DenseClaimGrid.covering(claims);
+    }
+
+    /**
+     * A difference array over the bounding box of all claims.
+     */
+    static ClaimGrid difference(ClaimTable claims) {
+        return DifferenceClaimGrid.covering(claims);
+    }
+
+    /**
+     * A grid over the bounding box of all claims, split into bands of rows that are filled in parallel.
+     */
+    static ClaimGrid banded(ClaimTable claims) {
+        return BandedClaimGrid.covering(claims);
+    }
+
+    /**
+     * A grid over the bounding box of all claims with atomic counters, filled in parallel.
+     */
+    static ClaimGrid atomic(ClaimTable claims) {
+        return AtomicClaimGrid.covering(claims);
+    }
+
+    /**
+     * A grid allocating square tiles only where claims are.
+     */
+    static ClaimGrid tiled() {
+        return new TiledClaimGrid();
+    }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+import eu.marrat.advent2018.common.InputSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Reads claims of the form {@code #id @ x,y: wxh} byte by byte straight into a {@link ClaimTable}, without regular
+ * expressions, strings or claim objects. Empty lines are skipped, anything else that does not match is reported with
+ * its line and column.
+ */
+class ClaimParser {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int END_OF_INPUT = -1;
+
+    private final InputStream in;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    private int line = 1;
+
+    private int column = 1;
+
+    private ClaimParser(InputStream in) {
+        this.in = in;
+    }
+
+    static ClaimTable parse(InputSource input) {
+        try (InputStream in = input.openStream()) {
+            return new ClaimParser(in).parse();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ClaimTable parse() throws IOException {
+        ClaimTable table = new ClaimTable();
+
+        while (peek() != END_OF_INPUT) {
+            if (skipLineBreak()) {
+                continue;
+            }
+
+            int claimLine = line;
+            expect('#');
+            int id = readNumber();
+            expect(' ');
+            expect('@');
+            expect(' ');
+            int x = readNumber();
+            expect(',');
+            int y = readNumber();
+            expect(':');
+            expect(' ');
+            int width = readNumber();
+            expect('x');
+            int height = readNumber();
+
+            if (peek() != END_OF_INPUT && !skipLineBreak()) {
+                throw error("end of line");
+            }
+
+            try {
+                table.add(id, x, y, width, height);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Line %d: %s", claimLine, e.getMessage()), e);
+            }
+        }
+
+        return table;
+    }
+
+    private int readNumber() throws IOException {
+        int c = peek();
+
+        if (c < '0' || c > '9') {
+            throw error("a digit");
+        }
+
+        int startColumn = column;
+        long value = 0;
+
+        while (c >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(String.format(
+                        "Line %d, column %d: number too large", line, startColumn));
+            }
+
+            next();
+            c = peek();
+        }
+
+        return (int) value;
+    }
+
+    private void expect(char expected) throws IOException {
+        if (peek() != expected) {
+            throw error(String.format("'%c'", expected));
+        }
+
+        next();
+    }
+
+    /**
+     * Consumes {@code \n} or {@code \r\n} and returns whether there was one.
+     */
+    private boolean skipLineBreak() throws IOException {
+        if (peek() == '\r') {
+            next();
+            if (peek() != '\n') {
+                throw error("'\\n'");
+            }
+        }
+
+        if (peek() != '\n') {
+            return false;
+        }
+
+        next();
+        ++line;
+        column = 1;
+
+        return true;
+    }
+
+    private IllegalArgumentException error(String expected) throws IOException {
+        int c = peek();
+        String found = c == END_OF_INPUT ? "end of input"
+                : c == '\n' || c == '\r' ? "end of line"
+                : c >= 0x20 && c < 0x7f ? String.format("'%c'", (char) c)
+                : String.format("byte 0x%02x", c);
+
+        return new IllegalArgumentException(String.format(
+                "Line %d, column %d: expected %s but found %s", line, column, expected, found));
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer);
+            position = 0;
+
+            if (limit <= 0) {
+                limit = 0;
+                return END_OF_INPUT;
+            }
+        }
+
+        return buffer[position] & 0xff;
+    }
+
+    private void next() {
+        ++position;
+        ++column;
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+import eu.marrat.advent2018.day03.Day03.Claim;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Claims stored column by column in one {@code int[]} per field instead of one object per claim. The engines read the
+ * columns through the index based getters.
+ * <p>
+ * The table is also a read-only list of claims, e.g. for the answer. {@link #get(int)} creates a new claim on every
+ * call.
+ */
+class ClaimTable extends AbstractList<Claim> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+
+    private int[] xs = new int[INITIAL_CAPACITY];
+
+    private int[] ys = new int[INITIAL_CAPACITY];
+
+    private int[] widths = new int[INITIAL_CAPACITY];
+
+    private int[] heights = new int[INITIAL_CAPACITY];
+
+    void add(int id, int x, int y, int width, int height) {
+        Claim.checkEdges(id, x, y, width, height);
+
+        if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            widths = Arrays.copyOf(widths, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+        }
+
+        ids[size] = id;
+        xs[size] = x;
+        ys[size] = y;
+        widths[size] = width;
+        heights[size] = height;
+        ++size;
+    }
+
+    @Override
+    public Claim get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d", index, size));
+        }
+
+        return new Claim(ids[index], xs[index], ys[index], widths[index], heights[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    int getId(int index) {
+        return ids[index];
+    }
+
+    int getX(int index) {
+        return xs[index];
+    }
+
+    int getY(int index) {
+        return ys[index];
+    }
+
+    int getWidth(int index) {
+        return widths[index];
+    }
+
+    int getHeight(int index) {
+        return heights[index];
+    }
+
+    /**
+     * The first column right of the claim.
+     */
+    int getRight(int index) {
+        return xs[index] + widths[index];
+    }
+
+    /**
+     * The first row below the claim.
+     */
+    int getBottom(int index) {
+        return ys[index] + heights[index];
+    }
+
+}
@@ -16,25 +16,210 @@
 
 package eu.marrat.advent2018.day03;
 
-import eu.marrat.advent2018.common.ClasspathFileUtils;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.common.Solvers;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class Day03 {
+public class Day03 implements Solver<ParsedClaims> {
+
+    /**
+     * How the claims are counted, selected with {@code -Dday03.engine=<mode>}.
+     */
+    enum Engine {
+
+        /**
+         * The original 1000x1000 {@code int[][]}, fails for claims outside of it.
+         */
+        FIXED {
+            @Override
+            ClaimCoverage cover(ClaimTable claims) {
+                int[][] arr = applyClaims(claims);
+
+                return new ClaimCoverage() {
+
+                    @Override
+                    public long countOverlaps() {
+                        return Day03.countOverlaps(arr);
+                    }
+
+                    @Override
+                    public Optional<Claim> findUniqueClaim() {
+                        return Day03.findUniqueClaim(claims, arr);
+                    }
+
+                };
+            }
+        },
+
+        /**
+         * A flat, saturating byte grid over the bounding box of the claims.
+         */
+        DENSE {
+            @Override
+            ClaimCoverage cover(ClaimTable claims) {
+                return ClaimCoverage.of(applyClaims(ClaimGrid.dense(claims), claims), claims, false);
+            }
+        },
+
+        /**
+         * Saturating byte tiles allocated on demand, for large and sparsely claimed fabrics.
+         */
+        TILED {
+            @Override
+            ClaimCoverage cover(ClaimTable claims) {
+                return ClaimCoverage.of(applyClaims(ClaimGrid.tiled(), claims), claims, false);
+            }
+        },
+
+        /**
+         * A 2D difference array over the bounding box, four updates per claim regardless of its size.
+         */
+        DIFFERENCE {
+            @Override
+            ClaimCoverage cover(ClaimTable claims) {
+                return ClaimCoverage.of(applyClaims(ClaimGrid.difference(claims), claims), claims, false);
+            }
+        },
+
+        /**
+         * A sweep line over the claim edges, independent of the size of the fabric.
+         */
+        SWEEP {
+            @Override
+            ClaimCoverage cover(ClaimTable claims) {
+                return SweepLine.sweep(claims);
+            }
+        },
+
+        /**
+         * Bands of rows filled, counted and checked in parallel, every band written by one thread only.
+         */
+        BANDS {
+            @Override
+            ClaimCoverage cover(ClaimTable claims) {
+                return ClaimCoverage.of(applyClaims(ClaimGrid.banded(claims), claims), claims, true);
+            }
+        },
+
+        /**
+         * Like {@link #BANDS}, but all threads increment one shared array of atomic counters, for comparison.
+         */
+        ATOMIC {
+            @Override
+            ClaimCoverage cover(ClaimTable claims) {
+                return ClaimCoverage.of(applyClaims(ClaimGrid.atomic(claims), claims), claims, true);
+            }
+        };
+
+        /**
+         * Applies all claims once, the result answers both parts.
+         */
+        abstract ClaimCoverage cover(ClaimTable claims);
+
+    }
+
+    /**
+     * How the input is read, selected with {@code -Dday03.parser=<mode>}.
+     */
+    enum Parser {
+
+        /**
+         * A single pass over the bytes into a {@link ClaimTable}.
+         */
+        SCANNER,
+
+        /**
+         * A regular expression per line, on a parallel stream, into one {@link Claim} per line, which is then copied
+         * into a {@link ClaimTable}.
+         */
+        REGEX
+    }
+
+    private static final int SIZE = 1000;
+
+    private final Engine engine;
+
+    private final Parser parser;
+
+    public Day03() {
+        this(Solvers.getMode("day03.engine", Engine.DENSE), Solvers.getMode("day03.parser", Parser.SCANNER));
+    }
+
+    Day03(Engine engine) {
+        this(engine, Parser.SCANNER);
+    }
+
+    Day03(Engine engine, Parser parser) {
+        this.engine = engine;
+        this.parser = parser;
+    }
 
     public static void main(String[] args) {
-        int[][] arr = new int[1000][1000];
+        Solvers.main(new Day03(), args);
+    }
+
+    @Override
+    public int getDay() {
+        return 3;
+    }
 
-        List<Claim> claims = ClasspathFileUtils.getLines("input")
-                .map(Claim::new)
-                .collect(Collectors.toList());
+    @Override
+    public Long solvePart1(ParsedClaims claims) {
+        return claims.getCoverage().countOverlaps();
+    }
+
+    @Override
+    public Integer solvePart2(ParsedClaims claims) {
+        return claims.getCoverage().findUniqueClaim()
+                .map(Claim::getId)
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    @Override
+    public ParsedClaims parse(InputSource input) {
+        return new ParsedClaims(parseClaims(input), engine);
+    }
+
+    private ClaimTable parseClaims(InputSource input) {
+        if (parser == Parser.SCANNER) {
+            return ClaimParser.parse(input);
+        }
+
+        ClaimTable claims = new ClaimTable();
+
+        try (Stream<String> lines = input.lines()) {
+            lines.parallel()
+                    .map(Claim::new)
+                    .forEachOrdered(c -> claims.add(c.getId(), c.getX(), c.getY(), c.getWidth(), c.getHeight()));
+        }
+
+        return claims;
+    }
+
+    static int[][] applyClaims(List<Claim> claims) {
+        int[][] arr = new int[SIZE][SIZE];
 
         claims.forEach(c -> c.apply(arr));
 
+        return arr;
+    }
+
+    static ClaimGrid applyClaims(ClaimGrid grid, ClaimTable claims) {
+        grid.addAll(claims);
+
+        return grid;
+    }
+
+    static int countOverlaps(int[][] arr) {
         int count = 0;
 
         for (int x = 0; x < arr.length; ++x) {
@@ -45,12 +230,13 @@ public class Day03 {
             }
         }
 
-        System.out.println(count);
+        return count;
+    }
 
-        claims.stream()
+    static Optional<Claim> findUniqueClaim(List<Claim> claims, int[][] arr) {
+        return claims.stream()
                 .filter(c -> c.isUnique(arr))
-                .findFirst()
-                .ifPresent(System.out::println);
+                .findFirst();
     }
 
     static class Claim {
@@ -77,6 +263,61 @@ public class Day03 {
             y = Integer.parseInt(matcher.group(3));
             width = Integer.parseInt(matcher.group(4));
             height = Integer.parseInt(matcher.group(5));
+            checkEdges(id, x, y, width, height);
+        }
+
+        Claim(int id, int x, int y, int width, int height) {
+            checkEdges(id, x, y, width, height);
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Rejects claims whose right or bottom edge is beyond {@link Integer#MAX_VALUE}, so that the edges of all
+         * claims can be computed with {@code int}s.
+         */
+        static void checkEdges(int id, int x, int y, int width, int height) {
+            if ((long) x + width > Integer.MAX_VALUE || (long) y + height > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(String.format("Claim #%d extends beyond coordinate %d",
+                        id, Integer.MAX_VALUE));
+            }
+        }
+
+        int getId() {
+            return id;
+        }
+
+        int getX() {
+            return x;
+        }
+
+        int getY() {
+            return y;
+        }
+
+        int getWidth() {
+            return width;
+        }
+
+        int getHeight() {
+            return height;
+        }
+
+        /**
+         * The first column right of the claim.
+         */
+        int getRight() {
+            return x + width;
+        }
+
+        /**
+         * The first row below the claim.
+         */
+        int getBottom() {
+            return y + height;
         }
 
         void apply(int[][] arr) {
@@ -109,6 +350,38 @@ public class Day03 {
                     .append("height", height)
                     .toString();
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Claim that = (Claim) o;
+
+            return new EqualsBuilder()
+                    .append(id, that.id)
+                    .append(x, that.x)
+                    .append(y, that.y)
+                    .append(width, that.width)
+                    .append(height, that.height)
+                    .isEquals();
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(17, 37)
+                    .append(id)
+                    .append(x)
+                    .append(y)
+                    .append(width)
+                    .append(height)
+                    .toHashCode();
+        }
     }
 
 }
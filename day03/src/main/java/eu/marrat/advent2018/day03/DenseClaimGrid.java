@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+/**
+ * One byte per square inch of the bounding box of the claims, row by row in a single array.
+ */
+class DenseClaimGrid implements ClaimGrid {
+
+    private static final byte SATURATED = 2;
+
+    private final int originX;
+
+    private final int originY;
+
+    private final int width;
+
+    private final byte[] cells;
+
+    private DenseClaimGrid(BoundingBox box) {
+        this.originX = box.getX();
+        this.originY = box.getY();
+        this.width = box.getWidth();
+        this.cells = new byte[box.getArraySize(0, 0)];
+    }
+
+    static DenseClaimGrid covering(ClaimTable claims) {
+        return new DenseClaimGrid(BoundingBox.of(claims));
+    }
+
+    @Override
+    public void add(int x, int y, int right, int bottom) {
+        for (int row = y; row < bottom; ++row) {
+            int offset = (row - originY) * width - originX;
+
+            for (int column = x; column < right; ++column) {
+                if (cells[offset + column] < SATURATED) {
+                    ++cells[offset + column];
+                }
+            }
+        }
+    }
+
+    @Override
+    public long countOverlaps() {
+        long count = 0;
+
+        for (byte cell : cells) {
+            if (cell == SATURATED) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean isUnique(int x, int y, int right, int bottom) {
+        for (int row = y; row < bottom; ++row) {
+            int offset = (row - originY) * width - originX;
+
+            for (int column = x; column < right; ++column) {
+                if (cells[offset + column] != 1) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+/**
+ * Marks every claim with four updates of a 2D difference array instead of incrementing each of its inches.
+ * <p>
+ * The first query runs two prefix passes over the bounding box: the first turns the differences into counts, the
+ * second sums up the overlapped inches, so that the overlaps within any rectangle, and with it the uniqueness of a
+ * claim, can be read from four entries. Everything costs O(claims + area of the bounding box), independent of the size
+ * of the claims.
+ */
+class DifferenceClaimGrid implements ClaimGrid {
+
+    private final int originX;
+
+    private final int originY;
+
+    private final int width;
+
+    private final int height;
+
+    /**
+     * Differences until the first query, with one extra column and row for the updates right of and below a claim.
+     */
+    private int[] differences;
+
+    /**
+     * After the first query: the number of overlapped inches above and left of each corner, {@code (width + 1)} per row.
+     */
+    private int[] overlapsBefore;
+
+    private DifferenceClaimGrid(BoundingBox box) {
+        this.originX = box.getX();
+        this.originY = box.getY();
+        this.width = box.getWidth();
+        this.height = box.getHeight();
+        this.differences = new int[box.getArraySize(1, 1)];
+    }
+
+    static DifferenceClaimGrid covering(ClaimTable claims) {
+        return new DifferenceClaimGrid(BoundingBox.of(claims));
+    }
+
+    @Override
+    public void add(int x, int y, int right, int bottom) {
+        if (differences == null) {
+            throw new IllegalStateException("Claims cannot be added after the grid was queried");
+        }
+
+        int stride = width + 1;
+        int fromColumn = x - originX;
+        int toColumn = right - originX;
+        int fromRow = (y - originY) * stride;
+        int toRow = (bottom - originY) * stride;
+
+        ++differences[fromRow + fromColumn];
+        --differences[fromRow + toColumn];
+        --differences[toRow + fromColumn];
+        ++differences[toRow + toColumn];
+    }
+
+    @Override
+    public long countOverlaps() {
+        prepare();
+
+        return overlapsBefore[height * (width + 1) + width];
+    }
+
+    @Override
+    public boolean isUnique(int x, int y, int right, int bottom) {
+        prepare();
+
+        int stride = width + 1;
+        int fromColumn = x - originX;
+        int toColumn = right - originX;
+        int fromRow = (y - originY) * stride;
+        int toRow = (bottom - originY) * stride;
+
+        return overlapsBefore[toRow + toColumn] - overlapsBefore[fromRow + toColumn]
+                - overlapsBefore[toRow + fromColumn] + overlapsBefore[fromRow + fromColumn] == 0;
+    }
+
+    private void prepare() {
+        if (overlapsBefore != null) {
+            return;
+        }
+
+        int stride = width + 1;
+        int[] counts = differences;
+        overlapsBefore = new int[counts.length];
+
+        for (int y = 0; y < height; ++y) {
+            int row = y * stride;
+
+            for (int x = 0; x < width; ++x) {
+                int i = row + x;
+
+                if (x > 0) {
+                    counts[i] += counts[i - 1];
+                }
+                if (y > 0) {
+                    counts[i] += counts[i - stride];
+                }
+                if (x > 0 && y > 0) {
+                    counts[i] -= counts[i - stride - 1];
+                }
+
+                // Shifted by one row and column, so the first row and column stay zero
+                int j = i + stride + 1;
+                overlapsBefore[j] = (counts[i] > 1 ? 1 : 0) + overlapsBefore[j - 1] + overlapsBefore[j - stride]
+                        - overlapsBefore[j - stride - 1];
+            }
+        }
+
+        differences = null;
+    }
+
+}
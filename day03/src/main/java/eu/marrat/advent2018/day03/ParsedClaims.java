@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+/**
+ * The claims of one input together with their coverage. The coverage is computed by the first part that asks for it
+ * and then shared with the other part, so it lives exactly as long as the parsed input.
+ */
+final class ParsedClaims {
+
+    private final ClaimTable claims;
+
+    private final Day03.Engine engine;
+
+    private ClaimCoverage coverage;
+
+    /**
+     * Takes ownership of the claims, which must not be changed afterwards.
+     */
+    ParsedClaims(ClaimTable claims, Day03.Engine engine) {
+        this.claims = claims;
+        this.engine = engine;
+    }
+
+    ClaimTable getClaims() {
+        return claims;
+    }
+
+    synchronized ClaimCoverage getCoverage() {
+        if (coverage == null) {
+            coverage = engine.cover(claims);
+        }
+
+        return coverage;
+    }
+
+}
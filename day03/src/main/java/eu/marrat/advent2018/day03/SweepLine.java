@@ -0,0 +1,302 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+import eu.marrat.advent2018.day03.Day03.Claim;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Computes both parts from the edges of the claims only, so memory and time depend on the number of claims and not on
+ * the size of the fabric.
+ * <p>
+ * A vertical line sweeps over the left and right edges of all claims in order of x. A {@link CoverageTree} over the
+ * distinct y coordinates of all top and bottom edges keeps track of the claims the line currently crosses.
+ */
+final class SweepLine {
+
+    /**
+     * Answers both parts in a single sweep.
+     * <p>
+     * The overlapping area adds up {@code length * width} of every slab between two consecutive edges, where
+     * {@code length} is the part of the sweep line covered by more than one claim.
+     * <p>
+     * A claim overlaps another one if, when it starts, the sweep line already crosses a claim within its y range, or
+     * if another claim starts within its y range while it is crossed. The second case is detected by stamping the
+     * range of every claim with the number of its start event and comparing the latest stamp within the range when
+     * the claim ends with the one of its own start.
+     */
+    static ClaimCoverage sweep(ClaimTable claims) {
+        int[] ys = compressedYs(claims);
+        long[] events = events(claims);
+        CoverageTree tree = new CoverageTree(ys);
+
+        long area = 0;
+        int previousX = 0;
+
+        boolean[] overlapping = new boolean[claims.size()];
+        int[] stamps = new int[claims.size()];
+        int stamp = 0;
+
+        for (long event : events) {
+            int index = claimOf(event);
+            int y = claims.getY(index);
+            int bottom = claims.getBottom(index);
+            int x = xOf(event);
+
+            area += tree.getLengthCoveredTwice() * (x - previousX);
+            previousX = x;
+
+            if (isStart(event)) {
+                if (tree.getMaxCount(y, bottom) > 0) {
+                    overlapping[index] = true;
+                }
+
+                stamps[index] = ++stamp;
+                tree.add(y, bottom, 1, stamp);
+            } else {
+                if (tree.getMaxStamp(y, bottom) > stamps[index]) {
+                    overlapping[index] = true;
+                }
+
+                tree.add(y, bottom, -1, 0);
+            }
+        }
+
+        long overlaps = area;
+
+        return new ClaimCoverage() {
+
+            @Override
+            public long countOverlaps() {
+                return overlaps;
+            }
+
+            @Override
+            public Optional<Claim> findUniqueClaim() {
+                for (int i = 0; i < overlapping.length; ++i) {
+                    if (!overlapping[i]) {
+                        return Optional.of(claims.get(i));
+                    }
+                }
+
+                return Optional.empty();
+            }
+
+        };
+    }
+
+    private static int[] compressedYs(ClaimTable claims) {
+        int[] ys = new int[claims.size() * 2];
+
+        for (int i = 0; i < claims.size(); ++i) {
+            ys[2 * i] = claims.getY(i);
+            ys[2 * i + 1] = claims.getBottom(i);
+        }
+
+        Arrays.sort(ys);
+
+        int distinct = 0;
+
+        for (int i = 0; i < ys.length; ++i) {
+            if (i == 0 || ys[i] != ys[i - 1]) {
+                ys[distinct++] = ys[i];
+            }
+        }
+
+        return Arrays.copyOf(ys, distinct);
+    }
+
+    /**
+     * One event per edge, packed as x, then end (0) before start (1) so that claims merely touching do not overlap,
+     * then the index of the claim. Claims without area cannot overlap and get no events.
+     */
+    private static long[] events(ClaimTable claims) {
+        long[] events = new long[claims.size() * 2];
+        int size = 0;
+
+        for (int i = 0; i < claims.size(); ++i) {
+            if (claims.getWidth(i) > 0 && claims.getHeight(i) > 0) {
+                events[size++] = ((long) claims.getX(i) << 32) | (1L << 31) | i;
+                events[size++] = ((long) claims.getRight(i) << 32) | i;
+            }
+        }
+
+        events = Arrays.copyOf(events, size);
+        Arrays.sort(events);
+
+        return events;
+    }
+
+    private static int xOf(long event) {
+        return (int) (event >> 32);
+    }
+
+    private static boolean isStart(long event) {
+        return (event & (1L << 31)) != 0;
+    }
+
+    private static int claimOf(long event) {
+        return (int) (event & Integer.MAX_VALUE);
+    }
+
+    /**
+     * A segment tree over the elementary intervals between consecutive y coordinates. Updates never have to be pushed
+     * down: a range is recorded in the nodes that cover it completely, and every node keeps the aggregates of its
+     * subtree including the ranges recorded in it.
+     */
+    static class CoverageTree {
+
+        private final int[] ys;
+
+        private final int leaves;
+
+        /**
+         * Number of ranges currently covering the whole interval of the node.
+         */
+        private final int[] count;
+
+        private final long[] coveredOnce;
+
+        private final long[] coveredTwice;
+
+        private final int[] maxCount;
+
+        /**
+         * Latest stamp of a range covering the whole interval of the node.
+         */
+        private final int[] stamp;
+
+        private final int[] maxStamp;
+
+        CoverageTree(int[] ys) {
+            this.ys = ys;
+            this.leaves = Math.max(ys.length - 1, 1);
+
+            int nodes = 4 * leaves;
+            count = new int[nodes];
+            coveredOnce = new long[nodes];
+            coveredTwice = new long[nodes];
+            maxCount = new int[nodes];
+            stamp = new int[nodes];
+            maxStamp = new int[nodes];
+        }
+
+        long getLengthCoveredTwice() {
+            return coveredTwice[1];
+        }
+
+        /**
+         * Adds {@code delta} to the count of all y in {@code [from, to)} and stamps them if {@code newStamp} is
+         * positive.
+         */
+        void add(int from, int to, int delta, int newStamp) {
+            if (from < to) {
+                add(1, 0, leaves, leafOf(from), leafOf(to), delta, newStamp);
+            }
+        }
+
+        int getMaxCount(int from, int to) {
+            return from < to ? maxCount(1, 0, leaves, leafOf(from), leafOf(to)) : 0;
+        }
+
+        int getMaxStamp(int from, int to) {
+            return from < to ? maxStamp(1, 0, leaves, leafOf(from), leafOf(to)) : 0;
+        }
+
+        private int leafOf(int y) {
+            return Arrays.binarySearch(ys, y);
+        }
+
+        private void add(int node, int left, int right, int from, int to, int delta, int newStamp) {
+            if (to <= left || right <= from) {
+                return;
+            }
+
+            if (from <= left && right <= to) {
+                count[node] += delta;
+                if (newStamp > 0) {
+                    stamp[node] = newStamp;
+                }
+            } else {
+                int middle = (left + right) >>> 1;
+                add(2 * node, left, middle, from, to, delta, newStamp);
+                add(2 * node + 1, middle, right, from, to, delta, newStamp);
+            }
+
+            update(node, left, right);
+        }
+
+        private void update(int node, int left, int right) {
+            long length = (long) ys[right] - ys[left];
+            boolean leaf = right - left == 1;
+
+            long childrenOnce = leaf ? 0 : coveredOnce[2 * node] + coveredOnce[2 * node + 1];
+            long childrenTwice = leaf ? 0 : coveredTwice[2 * node] + coveredTwice[2 * node + 1];
+
+            if (count[node] >= 2) {
+                coveredOnce[node] = length;
+                coveredTwice[node] = length;
+            } else if (count[node] == 1) {
+                coveredOnce[node] = length;
+                coveredTwice[node] = childrenOnce;
+            } else {
+                coveredOnce[node] = childrenOnce;
+                coveredTwice[node] = childrenTwice;
+            }
+
+            maxCount[node] = count[node] + (leaf ? 0 : Math.max(maxCount[2 * node], maxCount[2 * node + 1]));
+            maxStamp[node] = Math.max(stamp[node], leaf ? 0 : Math.max(maxStamp[2 * node], maxStamp[2 * node + 1]));
+        }
+
+        private int maxCount(int node, int left, int right, int from, int to) {
+            if (to <= left || right <= from) {
+                return Integer.MIN_VALUE;
+            }
+
+            if (from <= left && right <= to) {
+                return maxCount[node];
+            }
+
+            int middle = (left + right) >>> 1;
+
+            return count[node] + Math.max(maxCount(2 * node, left, middle, from, to),
+                    maxCount(2 * node + 1, middle, right, from, to));
+        }
+
+        private int maxStamp(int node, int left, int right, int from, int to) {
+            if (to <= left || right <= from) {
+                return 0;
+            }
+
+            if (from <= left && right <= to) {
+                return maxStamp[node];
+            }
+
+            int middle = (left + right) >>> 1;
+
+            return Math.max(stamp[node], Math.max(maxStamp(2 * node, left, middle, from, to),
+                    maxStamp(2 * node + 1, middle, right, from, to)));
+        }
+
+    }
+
+    private SweepLine() {
+        throw new IllegalStateException();
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day03;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Square tiles of {@value #TILE_SIZE} inches, allocated when a claim first touches them, so memory grows with the
+ * claimed area rather than with the size of the fabric.
+ */
+class TiledClaimGrid implements ClaimGrid {
+
+    static final int TILE_SIZE = 64;
+
+    private static final byte SATURATED = 2;
+
+    private final Map<Long, byte[]> tiles = new HashMap<>();
+
+    @Override
+    public void add(int x, int y, int right, int bottom) {
+        forEachTile(x, y, right, bottom, true, (tile, fromX, toX, fromY, toY) -> {
+            for (int row = fromY; row < toY; ++row) {
+                for (int column = fromX; column < toX; ++column) {
+                    if (tile[row * TILE_SIZE + column] < SATURATED) {
+                        ++tile[row * TILE_SIZE + column];
+                    }
+                }
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public long countOverlaps() {
+        long count = 0;
+
+        for (byte[] tile : tiles.values()) {
+            for (byte cell : tile) {
+                if (cell == SATURATED) {
+                    ++count;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean isUnique(int x, int y, int right, int bottom) {
+        return forEachTile(x, y, right, bottom, false, (tile, fromX, toX, fromY, toY) -> {
+            if (tile == null) {
+                return false;
+            }
+
+            for (int row = fromY; row < toY; ++row) {
+                for (int column = fromX; column < toX; ++column) {
+                    if (tile[row * TILE_SIZE + column] != 1) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Visits the part of the claim within each tile it touches, in tile coordinates, until the visitor returns
+     * {@code false}.
+     */
+    private boolean forEachTile(int x, int y, int right, int bottom, boolean allocate, TileVisitor visitor) {
+        int firstTileX = Math.floorDiv(x, TILE_SIZE);
+        int lastTileX = Math.floorDiv(right - 1, TILE_SIZE);
+        int firstTileY = Math.floorDiv(y, TILE_SIZE);
+        int lastTileY = Math.floorDiv(bottom - 1, TILE_SIZE);
+
+        for (int tileY = firstTileY; tileY <= lastTileY; ++tileY) {
+            for (int tileX = firstTileX; tileX <= lastTileX; ++tileX) {
+                long key = ((long) tileX << 32) | (tileY & 0xffff_ffffL);
+                byte[] tile = allocate
+                        ? tiles.computeIfAbsent(key, k -> new byte[TILE_SIZE * TILE_SIZE])
+                        : tiles.get(key);
+
+                int left = tileX * TILE_SIZE;
+                int top = tileY * TILE_SIZE;
+
+                boolean proceed = visitor.visit(tile,
+                        Math.max(x, left) - left,
+                        Math.min(right, left + TILE_SIZE) - left,
+                        Math.max(y, top) - top,
+                        Math.min(bottom, top + TILE_SIZE) - top);
+
+                if (!proceed) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private interface TileVisitor {
+
+        boolean visit(byte[] tile, int fromX, int toX, int fromY, int toY);
+
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.day03;
+
+import eu.marrat.advent2018.day03.Day03.Claim;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static eu.marrat.advent2018.day03.Day03Test.input;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClaimParserTest {
+
+    @Test
+    void parsesLikeRegularExpression() {
+        List<String> lines = Arrays.asList(
+                "#1 @ 1,3: 4x4",
+                "#12 @ 345,6789: 10x200",
+                "#2147483647 @ 0,0: 0x0",
+                "#1234567 @ 2147483646,7: 1x2147483640");
+
+        List<Claim> expected = lines.stream()
+                .map(Claim::new)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, ClaimParser.parse(input(lines.toArray(new String[0]))));
+    }
+
+    @Test
+    void skipsEmptyLinesAndCarriageReturns() {
+        List<Claim> expected = Arrays.asList(new Claim(1, 1, 3, 4, 4), new Claim(2, 3, 1, 4, 4));
+
+        assertEquals(expected, ClaimParser.parse(input("", "#1 @ 1,3: 4x4\r", "", "#2 @ 3,1: 4x4\r")));
+    }
+
+    @Test
+    void reportsMalformedLines() {
+        assertError("Line 2, column 12: expected 'x' but found 'y'", "#1 @ 1,3: 4x4", "#2 @ 3,1: 4y4");
+        assertError("Line 1, column 2: expected a digit but found ' '", "# 1 @ 1,3: 4x4");
+        assertError("Line 1, column 6: expected a digit but found ' '", "#1 @  1,3: 4x4");
+        assertError("Line 1, column 14: expected end of line but found ' '", "#1 @ 1,3: 4x4 ");
+        assertError("Line 1, column 1: expected '#' but found ' '", " #1 @ 1,3: 4x4");
+        assertError("Line 1, column 13: expected a digit but found end of line", "#1 @ 1,3: 4x");
+        assertError("Line 1, column 15: expected '\\n' but found 'x'", "#1 @ 1,3: 4x4\rx");
+        assertError("Line 1, column 2: number too large", "#2147483648 @ 1,3: 4x4");
+    }
+
+    @Test
+    void reportsClaimsBeyondLargestCoordinate() {
+        assertError("Line 2: Claim #2 extends beyond coordinate 2147483647", "#1 @ 1,3: 4x4", "#2 @ 2147483640,1: 8x1");
+        assertError("Line 1: Claim #1 extends beyond coordinate 2147483647", "#1 @ 1,2147483647: 1x1");
+    }
+
+    private static void assertError(String message, String... lines) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ClaimParser.parse(input(lines)));
+
+        assertEquals(message, e.getMessage());
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.day03;
+
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.day03.Day03.Engine;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Day03Test {
+
+    @Test
+    void solvesExample() {
+        InputSource input = input("#1 @ 1,3: 4x4", "#2 @ 3,1: 4x4", "#3 @ 5,5: 2x2");
+
+        for (Engine engine : Engine.values()) {
+            assertEquals(Arrays.asList(4L, 3), solve(new Day03(engine), input), engine.name());
+        }
+    }
+
+    @Test
+    void sweepLineAgreesWithDenseGrid() {
+        Random random = new Random(3);
+
+        for (int i = 0; i < 300; ++i) {
+            List<String> claims = new ArrayList<>();
+
+            for (int id = 1; id <= 1 + random.nextInt(20); ++id) {
+                claims.add(String.format("#%d @ %d,%d: %dx%d", id, random.nextInt(30), random.nextInt(30),
+                        random.nextInt(10), random.nextInt(10)));
+            }
+
+            InputSource input = input(claims.toArray(new String[0]));
+            List<Object> expected = solve(new Day03(Engine.DENSE), input);
+
+            for (Engine engine : Engine.values()) {
+                assertEquals(expected, solve(new Day03(engine), input), () -> engine + " " + claims);
+            }
+        }
+    }
+
+    @Test
+    void sweepLineHandlesClaimsEndingAtLargestCoordinate() {
+        InputSource input = input(
+                "#1 @ 2147483637,2147483637: 10x10",
+                "#2 @ 2147483640,2147483640: 7x7",
+                "#3 @ 0,0: 2x2");
+
+        assertEquals(Arrays.asList(49L, 3), solve(new Day03(Engine.SWEEP), input));
+    }
+
+    @Test
+    void rejectsClaimsBeyondLargestCoordinate() {
+        for (String claim : Arrays.asList("#1 @ 2147483640,0: 8x1", "#1 @ 0,2147483647: 1x1")) {
+            assertThrows(IllegalArgumentException.class, () -> new Day03(Engine.SWEEP).parse(input(claim)), claim);
+        }
+    }
+
+    /**
+     * Both parts, or {@code null} for part 2 if no claim is unique.
+     */
+    private static <T> List<Object> solve(Solver<T> solver, InputSource input) {
+        T claims = solver.parse(input);
+        Object part1 = solver.solvePart1(claims);
+        Object part2;
+
+        try {
+            part2 = solver.solvePart2(claims);
+        } catch (IllegalStateException e) {
+            part2 = null;
+        }
+
+        return Arrays.asList(part1, part2);
+    }
+
+    static InputSource input(String... lines) {
+        try {
+            Path file = Files.createTempFile("day03-", ".txt");
+            file.toFile().deleteOnExit();
+            Files.write(file, Arrays.asList(lines));
+            return InputSource.file(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -16,7 +16,10 @@
 
 package eu.marrat.advent2018.day04;
 
-import eu.marrat.advent2018.common.ClasspathFileUtils;
+import eu.marrat.advent2018.common.ExternalSort;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.common.Solvers;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -37,45 +40,233 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class Day04 implements Solver<Map<Integer, Day04.SleepSummary>> {
+
+    /**
+     * How the log is read, selected with {@code -Dday04.ingest=<mode>}.
+     */
+    enum Ingest {
+
+        /**
+         * Parses all lines into an {@link EventLog}, sorts it in memory and summarizes the events in order.
+         */
+        SORT,
+
+        /**
+         * Like {@link #SORT}, but parses and sorts in parallel and then summarizes chunks of whole shifts on all cores,
+         * merging the partial summaries at the end.
+         */
+        PARALLEL,
+
+        /**
+         * Sorts the raw lines in memory, matches them with a regular expression and collects the events of every
+         * guard before summarizing them.
+         */
+        REGEX,
+
+        /**
+         * Folds the lines of a log that is already in time order straight into the summaries, without buffering.
+         */
+        STREAM,
+
+        /**
+         * Sorts the lines in runs on disk, then streams their merge like {@link #STREAM}, for logs larger than the
+         * heap.
+         */
+        EXTERNAL_SORT
+    }
+
+    static final int LINES_PER_RUN = 1 << 20;
 
-public class Day04 {
+    private static final int CHUNKS_PER_THREAD = 4;
 
-    private static final Pattern PATTERN = Pattern.compile("\\[([\\d -:]+)] (Guard #(\\d+) begins shift|.+)");
+    static final Pattern PATTERN = Pattern.compile("\\[([\\d -:]+)] (Guard #(\\d+) begins shift|.+)");
 
-    private static final DateTimeFormatter FORMATTER = new DateTimeFormatterBuilder()
+    static final DateTimeFormatter FORMATTER = new DateTimeFormatterBuilder()
             .appendPattern("yyyy-MM-dd HH:mm")
             .toFormatter();
 
+    private final Ingest ingest;
+
+    private final int linesPerRun;
+
+    public Day04() {
+        this(Solvers.getMode("day04.ingest", Ingest.SORT), LINES_PER_RUN);
+    }
+
+    Day04(Ingest ingest, int linesPerRun) {
+        this.ingest = ingest;
+        this.linesPerRun = linesPerRun;
+    }
+
     public static void main(String[] args) {
-        Map<Integer, Guard> guards = getGuardsAndTheirEvents();
+        Solvers.main(new Day04(), args);
+    }
 
-        Guard longSleeper = guards.values().stream()
-                .max(Comparator.comparing(Guard::getSleepTimeMinutes))
+    @Override
+    public int getDay() {
+        return 4;
+    }
+
+    @Override
+    public Integer solvePart1(Map<Integer, SleepSummary> guards) {
+        return applyStrategy1(guards);
+    }
+
+    @Override
+    public Integer solvePart2(Map<Integer, SleepSummary> guards) {
+        return applyStrategy2(guards);
+    }
+
+    static Map.Entry<Integer, SleepSummary> findLongestSleeper(Map<Integer, SleepSummary> guards) {
+        return guards.entrySet().stream()
+                .max(Comparator.comparingInt(e -> e.getValue().getTotalMinutes()))
                 .orElseThrow(IllegalStateException::new);
+    }
+
+    static int applyStrategy1(Map<Integer, SleepSummary> guards) {
+        Map.Entry<Integer, SleepSummary> longSleeper = findLongestSleeper(guards);
 
-        System.out.println(guards);
-        System.out.println(longSleeper);
-        System.out.println(longSleeper.id * longSleeper.getMostSleepyMinute());
+        return longSleeper.getKey() * longSleeper.getValue().getMostSleepyMinute();
+    }
 
-        Guard guard = guards.values().stream()
-                .max(Comparator.comparing(Guard::countsOfMostSleepyMinute))
+    static int applyStrategy2(Map<Integer, SleepSummary> guards) {
+        Map.Entry<Integer, SleepSummary> guard = guards.entrySet().stream()
+                .max(Comparator.comparingInt(e -> e.getValue().getCountAtMostSleepyMinute()))
                 .orElseThrow(IllegalStateException::new);
 
-        System.out.println(guard.id * guard.getMostSleepyMinute());
+        return guard.getKey() * guard.getValue().getMostSleepyMinute();
+    }
+
+    @Override
+    public Map<Integer, SleepSummary> parse(InputSource input) {
+        switch (ingest) {
+            case SORT:
+                return aggregate(readEventLog(input));
+            case PARALLEL:
+                return aggregateInParallel(readEventLogInParallel(input),
+                        ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD);
+            case REGEX:
+                return summarize(getGuardsAndTheirEvents(input));
+            case STREAM:
+                try (Stream<CharSequence> lines = input.lineViews()) {
+                    return aggregate(lines);
+                }
+            case EXTERNAL_SORT:
+                try (Stream<String> lines = ExternalSort.sortedLines(input, linesPerRun)) {
+                    return aggregate(lines);
+                }
+            default:
+                throw new IllegalStateException();
+        }
     }
 
-    private static Map<Integer, Guard> getGuardsAndTheirEvents() {
+    static Map<Integer, SleepSummary> summarize(Map<Integer, Guard> guards) {
+        Map<Integer, SleepSummary> summaries = new HashMap<>();
+
+        guards.forEach((id, guard) -> summaries.put(id, guard.getSleepSummary()));
+
+        return Collections.unmodifiableMap(summaries);
+    }
+
+    static Map<Integer, SleepSummary> aggregate(Stream<? extends CharSequence> lines) {
+        SleepAggregator aggregator = new SleepAggregator();
+
+        lines.forEachOrdered(aggregator::accept);
+
+        return aggregator.finish();
+    }
+
+    static EventLog readEventLog(InputSource input) {
+        EventLog log = new EventLog();
+
+        try (Stream<CharSequence> lines = input.lineViews()) {
+            lines.forEachOrdered(log::add);
+        }
+
+        log.sort();
+
+        return log;
+    }
+
+    static EventLog readEventLogInParallel(InputSource input) {
+        EventLog log;
+
+        // The order of the lines does not matter, the log is sorted afterwards. Without order, errors cannot tell the
+        // line number and show the line instead.
+        try (Stream<CharSequence> lines = input.lineViews()) {
+            log = lines.parallel()
+                    .unordered()
+                    .collect(EventLog::new,
+                            (chunk, line) -> chunk.add(line, EventParser.UNKNOWN_LINE),
+                            EventLog::merge);
+        }
+
+        log.sort(true);
+
+        return log;
+    }
+
+    /**
+     * Cuts the sorted log into chunks that start with a shift, so every chunk can be summarized on its own, then adds
+     * up the summaries of each guard.
+     */
+    static Map<Integer, SleepSummary> aggregateInParallel(EventLog log, int chunks) {
+        int[] starts = IntStream.rangeClosed(0, chunks)
+                .map(i -> i == 0 ? 0 : log.nextShiftStart((int) ((long) log.size() * i / chunks)))
+                .distinct()
+                .toArray();
+
+        Map<Integer, SleepSummary> summaries = new HashMap<>();
+
+        IntStream.range(0, starts.length - 1)
+                .parallel()
+                .mapToObj(i -> {
+                    SleepAggregator aggregator = new SleepAggregator();
+                    log.forEach(starts[i], starts[i + 1], aggregator);
+                    return aggregator.finish();
+                })
+                .forEachOrdered(partial -> partial.forEach(
+                        (id, summary) -> summaries.computeIfAbsent(id, k -> new SleepSummary()).merge(summary)));
+
+        return Collections.unmodifiableMap(summaries);
+    }
+
+    static Map<Integer, SleepSummary> aggregate(EventLog log) {
+        SleepAggregator aggregator = new SleepAggregator();
+
+        log.forEach(aggregator);
+
+        return aggregator.finish();
+    }
+
+    /**
+     * Indexes all sleeps of the log for queries over arbitrary time ranges.
+     */
+    public static SleepIndex buildSleepIndex(InputSource input) {
+        return SleepIndex.of(getGuardsAndTheirEvents(input));
+    }
+
+    static Map<Integer, Guard> getGuardsAndTheirEvents(InputSource input) {
         Map<Integer, Guard> guards = new HashMap<>();
 
         Guard currentGuard = null;
 
-        List<String> events = ClasspathFileUtils.getLines("input")
-                .sorted()
-                .collect(Collectors.toList());
+        List<String> events;
+
+        try (Stream<String> lines = input.lines()) {
+            events = lines
+                    .parallel()
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
 
         for (String event : events) {
             Matcher matcher = PATTERN.matcher(event);
@@ -184,12 +375,15 @@ public class Day04 {
 
         private final Set<GuardEvent> events = new TreeSet<>();
 
+        private SleepSummary sleepSummary;
+
         Guard(int id) {
             this.id = id;
         }
 
         void addEvent(GuardEvent event) {
             events.add(event);
+            sleepSummary = null;
         }
 
         List<Pair<LocalDateTime, Integer>> getSleeps() {
@@ -223,46 +417,36 @@ public class Day04 {
         }
 
         int getSleepTimeMinutes() {
-            return getSleeps().stream()
-                    .map(Pair::getRight)
-                    .mapToInt(Integer::intValue)
-                    .sum();
+            return getSleepSummary().getTotalMinutes();
         }
 
         int countsOfMostSleepyMinute() {
-            return getSleepyCountsAtMinute(getMostSleepyMinute());
+            return getSleepSummary().getCountAtMostSleepyMinute();
         }
 
         int getMostSleepyMinute() {
-            int[] minutes = new int[60];
-
-            for (Pair<LocalDateTime, Integer> sleep : getSleeps()) {
-                int start = sleep.getLeft().getMinute();
-                int end = start + sleep.getRight();
-
-                for (int i = start; i < end; ++i) {
-                    minutes[i]++;
-                }
-            }
-
-            return IntStream.range(0, minutes.length)
-                    .reduce((a, b) -> minutes[a] < minutes[b] ? b : a)
-                    .orElseThrow();
+            return getSleepSummary().getMostSleepyMinute();
         }
 
         int getSleepyCountsAtMinute(int minute) {
-            int count = 0;
+            return getSleepSummary().getCountAtMinute(minute);
+        }
 
-            for (Pair<LocalDateTime, Integer> sleep : getSleeps()) {
-                int start = sleep.getLeft().getMinute();
-                int end = start + sleep.getRight();
+        /**
+         * Aggregates all sleeps once, the comparators ranking the guards call the getters above for every comparison.
+         */
+        SleepSummary getSleepSummary() {
+            if (sleepSummary == null) {
+                SleepSummary summary = new SleepSummary();
 
-                if (start <= minute || minute <= end) {
-                    ++count;
+                for (Pair<LocalDateTime, Integer> sleep : getSleeps()) {
+                    summary.addSleep(sleep.getLeft().getMinute(), sleep.getRight());
                 }
 
+                sleepSummary = summary;
             }
-            return count;
+
+            return sleepSummary;
         }
 
         private int calculateSleepTimeMinutes(LocalDateTime start, LocalDateTime end) {
@@ -278,4 +462,72 @@ public class Day04 {
         }
     }
 
+    /**
+     * Total minutes asleep and, for every minute of the midnight hour, the number of days a guard was asleep in it.
+     * Summaries of parts of a log can be merged by adding them up.
+     */
+    static class SleepSummary {
+
+        static final int MINUTES_PER_HOUR = 60;
+
+        private final int[] minutes = new int[MINUTES_PER_HOUR];
+
+        private int totalMinutes;
+
+        /**
+         * Computed on first use, -1 until then and after every change.
+         */
+        private int mostSleepyMinute = -1;
+
+        void addSleep(int startMinute, int duration) {
+            for (int i = startMinute; i < startMinute + duration; ++i) {
+                minutes[i]++;
+            }
+
+            totalMinutes += duration;
+            mostSleepyMinute = -1;
+        }
+
+        void merge(SleepSummary other) {
+            for (int i = 0; i < MINUTES_PER_HOUR; ++i) {
+                minutes[i] += other.minutes[i];
+            }
+
+            totalMinutes += other.totalMinutes;
+            mostSleepyMinute = -1;
+        }
+
+        int getTotalMinutes() {
+            return totalMinutes;
+        }
+
+        /**
+         * The earliest of the minutes most often slept in.
+         */
+        int getMostSleepyMinute() {
+            if (mostSleepyMinute < 0) {
+                int mostSleepy = 0;
+
+                for (int i = 1; i < MINUTES_PER_HOUR; ++i) {
+                    if (minutes[i] > minutes[mostSleepy]) {
+                        mostSleepy = i;
+                    }
+                }
+
+                mostSleepyMinute = mostSleepy;
+            }
+
+            return mostSleepyMinute;
+        }
+
+        int getCountAtMinute(int minute) {
+            return minutes[minute];
+        }
+
+        int getCountAtMostSleepyMinute() {
+            return minutes[getMostSleepyMinute()];
+        }
+
+    }
+
 }
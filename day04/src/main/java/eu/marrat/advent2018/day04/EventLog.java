@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day04;
+
+import eu.marrat.advent2018.day04.Day04.GuardEventType;
+
+import java.util.Arrays;
+
+/**
+ * Log events in primitive arrays, one per field, instead of {@link Day04.GuardEvent} objects in sorted sets.
+ */
+class EventLog {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final GuardEventType[] TYPES = GuardEventType.values();
+
+    /**
+     * Sort keys hold the minute relative to the earliest one in 29 bits, then the type, then the index of the event.
+     */
+    private static final long MAX_MINUTE_SPAN = (1L << 29) - 1;
+
+    private int size;
+
+    private long[] minutes = new long[INITIAL_CAPACITY];
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+
+    private int[] guardIds = new int[INITIAL_CAPACITY];
+
+    /**
+     * Adds the line as the next one of the input, so errors report its position in the log. Only for logs filled
+     * line by line in input order.
+     */
+    void add(CharSequence line) {
+        add(line, size + 1L);
+    }
+
+    /**
+     * Adds a line whose position in the input is given, or {@link EventParser#UNKNOWN_LINE unknown}.
+     */
+    void add(CharSequence line, long lineNumber) {
+        GuardEventType type = EventParser.parseType(line, lineNumber);
+
+        add(EventParser.parseMinute(line, lineNumber), type,
+                type == GuardEventType.BEGIN_SHIFT ? EventParser.parseGuardId(line, lineNumber) : -1);
+    }
+
+    void add(long minute, GuardEventType type, int guardId) {
+        if (size == minutes.length) {
+            int capacity = size + (size >> 1);
+            minutes = Arrays.copyOf(minutes, capacity);
+            types = Arrays.copyOf(types, capacity);
+            guardIds = Arrays.copyOf(guardIds, capacity);
+        }
+
+        minutes[size] = minute;
+        types[size] = (byte) type.ordinal();
+        guardIds[size] = guardId;
+        ++size;
+    }
+
+    /**
+     * Appends all events of the other log, for collecting logs parsed in parallel.
+     */
+    EventLog merge(EventLog other) {
+        for (int i = 0; i < other.size; ++i) {
+            add(other.minutes[i], TYPES[other.types[i]], other.guardIds[i]);
+        }
+
+        return this;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * The index of the first shift beginning at or after the given index, or the size of the log if there is none.
+     */
+    int nextShiftStart(int index) {
+        int i = index;
+
+        while (i < size && types[i] != GuardEventType.BEGIN_SHIFT.ordinal()) {
+            ++i;
+        }
+
+        return i;
+    }
+
+    /**
+     * Orders the events by time and, within the same minute, shift begins before falling asleep before waking up,
+     * the same order as sorting the raw lines.
+     */
+    void sort() {
+        sort(false);
+    }
+
+    void sort(boolean parallel) {
+        if (size == 0) {
+            return;
+        }
+
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+
+        for (int i = 0; i < size; ++i) {
+            first = Math.min(first, minutes[i]);
+            last = Math.max(last, minutes[i]);
+        }
+
+        if (last - first > MAX_MINUTE_SPAN) {
+            throw new IllegalArgumentException(String.format("Log spans more than %d minutes", MAX_MINUTE_SPAN));
+        }
+
+        long[] keys = new long[size];
+
+        for (int i = 0; i < size; ++i) {
+            keys[i] = ((minutes[i] - first) << 34) | ((long) types[i] << 32) | i;
+        }
+
+        if (parallel) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+
+        long[] sortedMinutes = new long[size];
+        byte[] sortedTypes = new byte[size];
+        int[] sortedGuardIds = new int[size];
+
+        for (int i = 0; i < size; ++i) {
+            int index = (int) keys[i];
+            sortedMinutes[i] = minutes[index];
+            sortedTypes[i] = types[index];
+            sortedGuardIds[i] = guardIds[index];
+        }
+
+        minutes = sortedMinutes;
+        types = sortedTypes;
+        guardIds = sortedGuardIds;
+    }
+
+    void forEach(EventConsumer consumer) {
+        forEach(0, size, consumer);
+    }
+
+    void forEach(int from, int to, EventConsumer consumer) {
+        for (int i = from; i < to; ++i) {
+            consumer.accept(minutes[i], TYPES[types[i]], guardIds[i]);
+        }
+    }
+
+    interface EventConsumer {
+
+        /**
+         * @param guardId the id of the guard for {@link GuardEventType#BEGIN_SHIFT}, -1 otherwise
+         */
+        void accept(long minute, GuardEventType type, int guardId);
+
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day04;
+
+import eu.marrat.advent2018.day04.Day04.GuardEventType;
+
+/**
+ * Decodes log lines by position, relying on the fixed layout {@code [yyyy-MM-dd HH:mm] <event>}, instead of matching
+ * them with a regular expression and parsing the timestamp into a {@link java.time.LocalDateTime}.
+ * <p>
+ * Timestamps become minutes since 1970-01-01 00:00 in the proleptic Gregorian calendar, and the event type is told
+ * apart by its first character. Lines that do not fit are reported with their line number and column, or with their
+ * content if the line number is {@link #UNKNOWN_LINE unknown}.
+ */
+final class EventParser {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Line number for lines read out of order, e.g. by a parallel stream.
+     */
+    static final long UNKNOWN_LINE = 0;
+
+    private static final String GUARD = "Guard #";
+
+    private static final String BEGINS_SHIFT = " begins shift";
+
+    private static final String FALLS_ASLEEP = "falls asleep";
+
+    private static final String WAKES_UP = "wakes up";
+
+    private static final int EVENT = 19;
+
+    static long parseMinute(CharSequence line, long lineNumber) {
+        expectLength(line, EVENT + 1, lineNumber);
+        expect(line, 0, '[', lineNumber);
+        int year = parseDigits(line, 1, 4, lineNumber);
+        expect(line, 5, '-', lineNumber);
+        int month = parseDigits(line, 6, 2, lineNumber);
+        expect(line, 8, '-', lineNumber);
+        int day = parseDigits(line, 9, 2, lineNumber);
+        expect(line, 11, ' ', lineNumber);
+        int hour = parseDigits(line, 12, 2, lineNumber);
+        expect(line, 14, ':', lineNumber);
+        int minute = parseDigits(line, 15, 2, lineNumber);
+        expect(line, 17, ']', lineNumber);
+        expect(line, 18, ' ', lineNumber);
+
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) || hour > 23 || minute > 59) {
+            throw new IllegalArgumentException(String.format("%s: invalid timestamp %s",
+                    location(line, lineNumber, 2), line.subSequence(1, 17)));
+        }
+
+        return daysSinceEpoch(year, month, day) * MINUTES_PER_DAY + hour * 60 + minute;
+    }
+
+    static GuardEventType parseType(CharSequence line, long lineNumber) {
+        expectLength(line, EVENT + 1, lineNumber);
+
+        switch (line.charAt(EVENT)) {
+            case 'G':
+                return GuardEventType.BEGIN_SHIFT;
+            case 'f':
+                expectText(line, EVENT, FALLS_ASLEEP, lineNumber);
+                expectEnd(line, EVENT + FALLS_ASLEEP.length(), lineNumber);
+                return GuardEventType.FALL_ASLEEP;
+            case 'w':
+                expectText(line, EVENT, WAKES_UP, lineNumber);
+                expectEnd(line, EVENT + WAKES_UP.length(), lineNumber);
+                return GuardEventType.WAKE_UP;
+            default:
+                throw error(line, EVENT, "'Guard', 'falls asleep' or 'wakes up'", lineNumber);
+        }
+    }
+
+    /**
+     * The id of the guard beginning the shift, only valid for {@link GuardEventType#BEGIN_SHIFT}.
+     */
+    static int parseGuardId(CharSequence line, long lineNumber) {
+        expectText(line, EVENT, GUARD, lineNumber);
+
+        int start = EVENT + GUARD.length();
+        int end = start;
+        long id = 0;
+
+        while (end < line.length() && Character.isDigit(line.charAt(end))) {
+            id = id * 10 + (line.charAt(end) - '0');
+
+            if (id > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(String.format(
+                        "%s: guard id too large", location(line, lineNumber, start + 1)));
+            }
+
+            ++end;
+        }
+
+        if (end == start) {
+            throw error(line, start, "a digit", lineNumber);
+        }
+
+        expectText(line, end, BEGINS_SHIFT, lineNumber);
+        expectEnd(line, end + BEGINS_SHIFT.length(), lineNumber);
+
+        return (int) id;
+    }
+
+    /**
+     * Days between 1970-01-01 and the given date, after Howard Hinnant's {@code days_from_civil}.
+     */
+    static long daysSinceEpoch(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static int parseDigits(CharSequence line, int start, int count, long lineNumber) {
+        int value = 0;
+
+        for (int i = start; i < start + count; ++i) {
+            char c = line.charAt(i);
+
+            if (c < '0' || c > '9') {
+                throw error(line, i, "a digit", lineNumber);
+            }
+
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    private static void expect(CharSequence line, int index, char expected, long lineNumber) {
+        if (line.charAt(index) != expected) {
+            throw error(line, index, String.format("'%c'", expected), lineNumber);
+        }
+    }
+
+    private static void expectText(CharSequence line, int index, String expected, long lineNumber) {
+        for (int i = 0; i < expected.length(); ++i) {
+            if (index + i >= line.length() || line.charAt(index + i) != expected.charAt(i)) {
+                throw error(line, index + i, String.format("'%s'", expected), lineNumber);
+            }
+        }
+    }
+
+    private static void expectEnd(CharSequence line, int index, long lineNumber) {
+        if (index != line.length()) {
+            throw error(line, index, "end of line", lineNumber);
+        }
+    }
+
+    private static void expectLength(CharSequence line, int length, long lineNumber) {
+        if (line.length() < length) {
+            throw error(line, line.length(), "more characters", lineNumber);
+        }
+    }
+
+    private static IllegalArgumentException error(CharSequence line, int index, String expected, long lineNumber) {
+        String found = index < line.length() ? String.format("'%c'", line.charAt(index)) : "end of line";
+
+        return new IllegalArgumentException(String.format(
+                "%s: expected %s but found %s", location(line, lineNumber, index + 1), expected, found));
+    }
+
+    private static String location(CharSequence line, long lineNumber, int column) {
+        return lineNumber == UNKNOWN_LINE
+                ? String.format("Line '%s', column %d", line, column)
+                : String.format("Line %d, column %d", lineNumber, column);
+    }
+
+    private EventParser() {
+        throw new IllegalStateException();
+    }
+
+}
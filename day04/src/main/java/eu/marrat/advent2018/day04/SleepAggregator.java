@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day04;
+
+import eu.marrat.advent2018.day04.Day04.GuardEventType;
+import eu.marrat.advent2018.day04.Day04.SleepSummary;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Folds the events of a log in time order into one {@link SleepSummary} per guard as they arrive, so only the
+ * summaries and the current shift are kept in memory.
+ */
+class SleepAggregator implements EventLog.EventConsumer {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Map<Integer, SleepSummary> summaries = new HashMap<>();
+
+    private SleepSummary currentGuard;
+
+    private long sleepStart = NONE;
+
+    private long previous = NONE;
+
+    private long eventNumber;
+
+    /**
+     * Parses and applies the next line of the log.
+     */
+    void accept(CharSequence line) {
+        long lineNumber = eventNumber + 1;
+        GuardEventType type = EventParser.parseType(line, lineNumber);
+
+        accept(EventParser.parseMinute(line, lineNumber), type,
+                type == GuardEventType.BEGIN_SHIFT ? EventParser.parseGuardId(line, lineNumber) : -1);
+    }
+
+    @Override
+    public void accept(long minute, GuardEventType type, int guardId) {
+        ++eventNumber;
+
+        if (minute < previous) {
+            throw new IllegalArgumentException(String.format("Event %d: log is not in time order", eventNumber));
+        }
+
+        previous = minute;
+
+        switch (type) {
+            case BEGIN_SHIFT:
+                checkAwake();
+                currentGuard = summaries.computeIfAbsent(guardId, id -> new SleepSummary());
+                break;
+            case FALL_ASLEEP:
+                checkOnShift();
+                sleepStart = minute;
+                break;
+            case WAKE_UP:
+                checkOnShift();
+                if (sleepStart == NONE) {
+                    throw new IllegalStateException(String.format(
+                            "Event %d: guard wakes up without sleeping", eventNumber));
+                }
+                currentGuard.addSleep((int) Math.floorMod(sleepStart, 60L), (int) (minute - sleepStart));
+                sleepStart = NONE;
+                break;
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    Map<Integer, SleepSummary> finish() {
+        checkAwake();
+
+        return Collections.unmodifiableMap(summaries);
+    }
+
+    private void checkOnShift() {
+        if (currentGuard == null) {
+            throw new IllegalStateException(String.format("Event %d: no guard on shift", eventNumber));
+        }
+    }
+
+    private void checkAwake() {
+        if (sleepStart != NONE) {
+            throw new IllegalStateException(String.format("Event %d: guard is still asleep", eventNumber));
+        }
+    }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day04;
+
+import eu.marrat.advent2018.day04.Day04.Guard;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Answers questions about arbitrary time ranges from the sleeps of all guards, e.g. for dashboards over long
+ * histories. Built by {@link Day04#buildSleepIndex(eu.marrat.advent2018.common.InputSource)}.
+ * <p>
+ * Sleeps are kept as minutes since the epoch in sorted primitive arrays:
+ * <ul>
+ * <li>per guard with prefix sums of their durations, so the minutes asleep within any range take two binary searches,
+ * O(log n) for n sleeps of the guard;</li>
+ * <li>for all guards together, sorted by start, so the guards asleep at a point in time are found by a binary search
+ * and a scan over all sleeps that started no longer than the longest sleep ago, O(log n + k) for k such sleeps. As
+ * sleeps are at most an hour in the puzzle, k stays small, but a single long sleep makes it grow towards n.</li>
+ * </ul>
+ */
+public final class SleepIndex {
+
+    /**
+     * Sort keys hold the start relative to the earliest one above the index of the sleep.
+     */
+    private static final int INDEX_BITS = 31;
+
+    private static final long MAX_START_SPAN = (1L << (Long.SIZE - 1 - INDEX_BITS)) - 1;
+
+    private final Map<Integer, GuardSleeps> sleepsByGuard = new HashMap<>();
+
+    private final long[] starts;
+
+    private final long[] ends;
+
+    private final int[] guardIds;
+
+    private final long longestSleep;
+
+    private SleepIndex(Map<Integer, Guard> guards) {
+        guards.forEach((id, guard) -> sleepsByGuard.put(id, new GuardSleeps(guard.getSleeps())));
+
+        int size = sleepsByGuard.values().stream()
+                .mapToInt(s -> s.starts.length)
+                .sum();
+
+        long[] allStarts = new long[size];
+        long[] allEnds = new long[size];
+        int[] allGuardIds = new int[size];
+        int i = 0;
+
+        for (Map.Entry<Integer, GuardSleeps> entry : sleepsByGuard.entrySet()) {
+            GuardSleeps sleeps = entry.getValue();
+
+            for (int j = 0; j < sleeps.starts.length; ++j, ++i) {
+                allStarts[i] = sleeps.starts[j];
+                allEnds[i] = sleeps.ends[j];
+                allGuardIds[i] = entry.getKey();
+            }
+        }
+
+        long[] keys = sortKeys(allStarts);
+        Arrays.sort(keys);
+
+        starts = new long[size];
+        ends = new long[size];
+        guardIds = new int[size];
+        long longest = 0;
+
+        for (int j = 0; j < size; ++j) {
+            int index = (int) (keys[j] & Integer.MAX_VALUE);
+            starts[j] = allStarts[index];
+            ends[j] = allEnds[index];
+            guardIds[j] = allGuardIds[index];
+            longest = Math.max(longest, ends[j] - starts[j]);
+        }
+
+        longestSleep = longest;
+    }
+
+    static SleepIndex of(Map<Integer, Guard> guards) {
+        return new SleepIndex(guards);
+    }
+
+    private static long[] sortKeys(long[] starts) {
+        long earliest = Arrays.stream(starts).min().orElse(0);
+        long[] keys = new long[starts.length];
+
+        for (int i = 0; i < starts.length; ++i) {
+            long offset = starts[i] - earliest;
+
+            if (offset > MAX_START_SPAN) {
+                throw new IllegalArgumentException(String.format("Sleeps span more than %d minutes", MAX_START_SPAN));
+            }
+
+            keys[i] = (offset << INDEX_BITS) | i;
+        }
+
+        return keys;
+    }
+
+    /**
+     * Number of sleeps of all guards.
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * The ids of all guards in the log, whether they ever slept or not.
+     */
+    public Set<Integer> getGuardIds() {
+        return Collections.unmodifiableSet(sleepsByGuard.keySet());
+    }
+
+    /**
+     * Minutes the guard was asleep within {@code [from, to)}, 0 for unknown guards. Takes O(log n) for the n sleeps of
+     * the guard.
+     */
+    public long getMinutesAsleep(int guardId, LocalDateTime from, LocalDateTime to) {
+        GuardSleeps sleeps = sleepsByGuard.get(guardId);
+
+        return sleeps == null ? 0 : sleeps.getMinutesAsleep(toMinute(from), toMinute(to));
+    }
+
+    /**
+     * The ids of all guards asleep during the minute starting at the given time. Takes O(log n + k), where k is the
+     * number of sleeps that started within the longest sleep before the time.
+     */
+    public Set<Integer> getGuardsAsleepAt(LocalDateTime time) {
+        long minute = toMinute(time);
+        Set<Integer> asleep = new TreeSet<>();
+
+        // Sleeps covering the minute started after minute - longestSleep, at the latest at the minute itself
+        int from = firstIndexAfter(starts, minute - longestSleep);
+        int to = firstIndexAfter(starts, minute);
+
+        for (int i = from; i < to; ++i) {
+            if (ends[i] > minute) {
+                asleep.add(guardIds[i]);
+            }
+        }
+
+        return asleep;
+    }
+
+    /**
+     * The ids of all guards asleep in the given minute of the midnight hour of the date.
+     */
+    public Set<Integer> getGuardsAsleepAt(LocalDate date, int minute) {
+        return getGuardsAsleepAt(date.atTime(0, minute));
+    }
+
+    private static long toMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * Index of the first value greater than the given one in the sorted array.
+     */
+    private static int firstIndexAfter(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * The sleeps of one guard in time order. They never overlap, so their ends are sorted as well.
+     */
+    private static class GuardSleeps {
+
+        private final long[] starts;
+
+        private final long[] ends;
+
+        /**
+         * Total duration of the first {@code i} sleeps at index {@code i}.
+         */
+        private final long[] durationsBefore;
+
+        GuardSleeps(List<Pair<LocalDateTime, Integer>> sleeps) {
+            starts = new long[sleeps.size()];
+            ends = new long[sleeps.size()];
+            durationsBefore = new long[sleeps.size() + 1];
+
+            for (int i = 0; i < sleeps.size(); ++i) {
+                starts[i] = toMinute(sleeps.get(i).getLeft());
+                ends[i] = starts[i] + sleeps.get(i).getRight();
+                durationsBefore[i + 1] = durationsBefore[i] + sleeps.get(i).getRight();
+            }
+        }
+
+        long getMinutesAsleep(long from, long to) {
+            if (from >= to) {
+                return 0;
+            }
+
+            // Sleeps ending after from up to sleeps starting before to
+            int first = firstIndexAfter(ends, from);
+            int last = firstIndexAfter(starts, to - 1);
+
+            if (first >= last) {
+                return 0;
+            }
+
+            long minutes = durationsBefore[last] - durationsBefore[first];
+            minutes -= Math.max(0, from - starts[first]);
+            minutes -= Math.max(0, ends[last - 1] - to);
+
+            return minutes;
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.day04;
+
+import eu.marrat.advent2018.common.InputSource;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Queries the {@link SleepIndex} of a log from the command line.
+ * <p>
+ * Usage: {@code SleepQueries <input> asleep <time>} prints the ids of the guards asleep at the time,
+ * {@code SleepQueries <input> minutes <guard> <from> <to>} the minutes the guard slept within {@code [from, to)}. The
+ * input is resolved by {@link InputSource#of(String)}, times are given like {@code 1518-11-01T00:30}.
+ */
+public class SleepQueries {
+
+    private static final String USAGE = "Usage: SleepQueries <input> (asleep <time> | minutes <guard> <from> <to>)";
+
+    public static void main(String[] args) {
+        try {
+            if (args.length == 3 && "asleep".equals(args[1])) {
+                LocalDateTime time = LocalDateTime.parse(args[2]);
+
+                System.out.println(Day04.buildSleepIndex(InputSource.of(args[0])).getGuardsAsleepAt(time));
+                return;
+            }
+
+            if (args.length == 5 && "minutes".equals(args[1])) {
+                int guard = Integer.parseInt(args[2]);
+                LocalDateTime from = LocalDateTime.parse(args[3]);
+                LocalDateTime to = LocalDateTime.parse(args[4]);
+
+                System.out.println(Day04.buildSleepIndex(InputSource.of(args[0])).getMinutesAsleep(guard, from, to));
+                return;
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            System.err.println(e.getMessage());
+        }
+
+        System.err.println(USAGE);
+        System.exit(1);
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.day04;
+
+import eu.marrat.advent2018.day04.Day04.GuardEventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventParserTest {
+
+    @Test
+    void parsesLikeRegularExpression() {
+        List<String> lines = Arrays.asList(
+                "[1518-11-01 00:00] Guard #10 begins shift",
+                "[1518-11-01 00:05] falls asleep",
+                "[1518-11-01 00:25] wakes up",
+                "[1518-02-28 23:59] Guard #3141592 begins shift",
+                "[1518-03-01 00:00] falls asleep",
+                "[1518-12-31 23:59] Guard #2147483647 begins shift",
+                "[1519-01-01 00:00] wakes up",
+                "[1520-02-29 00:59] falls asleep",
+                "[1520-03-01 00:00] wakes up",
+                "[1600-02-29 12:34] Guard #0 begins shift",
+                "[1969-12-31 23:59] falls asleep",
+                "[1970-01-01 00:00] wakes up",
+                "[2000-02-29 00:00] falls asleep",
+                "[9999-12-31 23:59] wakes up");
+
+        for (String line : lines) {
+            Matcher matcher = Day04.PATTERN.matcher(line);
+            assertTrue(matcher.matches(), line);
+
+            LocalDateTime timestamp = LocalDateTime.parse(matcher.group(1), Day04.FORMATTER);
+            GuardEventType type = GuardEventType.fromString(matcher.group(2));
+
+            assertEquals(Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 60), EventParser.parseMinute(line, 1),
+                    line);
+            assertEquals(type, EventParser.parseType(line, 1), line);
+
+            if (type == GuardEventType.BEGIN_SHIFT) {
+                assertEquals(Integer.parseInt(matcher.group(3)), EventParser.parseGuardId(line, 1), line);
+            }
+        }
+    }
+
+    @Test
+    void countsDaysLikeLocalDate() {
+        for (LocalDate date = LocalDate.of(1500, 1, 1); date.getYear() < 2100; date = date.plusDays(1)) {
+            assertEquals(date.toEpochDay(),
+                    EventParser.daysSinceEpoch(date.getYear(), date.getMonthValue(), date.getDayOfMonth()),
+                    date::toString);
+        }
+    }
+
+    @Test
+    void rejectsInvalidTimestamps() {
+        for (String timestamp : Arrays.asList("1518-02-29 00:00", "1700-02-29 00:00", "1518-04-31 00:00",
+                "1518-00-10 00:00", "1518-13-01 00:00", "1518-11-00 00:00", "1518-11-01 24:00", "1518-11-01 00:60")) {
+            assertError("Line 3, column 2: invalid timestamp " + timestamp,
+                    () -> EventParser.parseMinute("[" + timestamp + "] falls asleep", 3));
+        }
+    }
+
+    @Test
+    void reportsMalformedLines() {
+        assertError("Line 1, column 13: expected a digit but found ' '",
+                () -> EventParser.parseMinute("[1518-11-01  00:00] falls asleep", 1));
+        assertError("Line 1, column 6: expected '-' but found '/'",
+                () -> EventParser.parseMinute("[1518/11/01 00:00] falls asleep", 1));
+        assertError("Line 1, column 19: expected more characters but found end of line",
+                () -> EventParser.parseMinute("[1518-11-01 00:00]", 1));
+        assertError("Line 1, column 20: expected 'Guard', 'falls asleep' or 'wakes up' but found ' '",
+                () -> EventParser.parseType("[1518-11-01 00:00]  falls asleep", 1));
+        assertError("Line 1, column 32: expected end of line but found ' '",
+                () -> EventParser.parseType("[1518-11-01 00:00] falls asleep ", 1));
+        assertError("Line 1, column 26: expected 'wakes up' but found 'o'",
+                () -> EventParser.parseType("[1518-11-01 00:00] wakes on", 1));
+        assertError("Line 1, column 27: expected a digit but found ' '",
+                () -> EventParser.parseGuardId("[1518-11-01 00:00] Guard # begins shift", 1));
+        assertError("Line 1, column 30: expected ' begins shift' but found ' '",
+                () -> EventParser.parseGuardId("[1518-11-01 00:00] Guard #10  begins shift", 1));
+        assertError("Line 1, column 27: guard id too large",
+                () -> EventParser.parseGuardId("[1518-11-01 00:00] Guard #2147483648 begins shift", 1));
+    }
+
+    @Test
+    void quotesLinesWithUnknownNumber() {
+        assertError("Line '[1518-1x-01 00:00] falls asleep', column 8: expected a digit but found 'x'",
+                () -> EventParser.parseMinute("[1518-1x-01 00:00] falls asleep", EventParser.UNKNOWN_LINE));
+    }
+
+    private static void assertError(String message, Runnable parse) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, parse::run);
+
+        assertEquals(message, e.getMessage());
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.day04;
+
+import eu.marrat.advent2018.common.InputSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the index with the minutes asleep of every guard, collected while generating a shuffled log.
+ */
+class SleepIndexTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(1518, 3, 1);
+
+    private static final int DAYS = 30;
+
+    private static final int[] GUARD_IDS = {10, 99, 1234, 7};
+
+    private static final int SLEEPLESS_GUARD_ID = 7;
+
+    private static final Map<Integer, NavigableSet<LocalDateTime>> minutesAsleep = new HashMap<>();
+
+    private static SleepIndex index;
+
+    @BeforeAll
+    static void buildIndex() {
+        Random random = new Random(4);
+        List<String> lines = new ArrayList<>();
+
+        for (int day = 0; day < DAYS; ++day) {
+            LocalDate date = FIRST_DAY.plusDays(day);
+            int id = GUARD_IDS[day % GUARD_IDS.length];
+            LocalDateTime begin = random.nextBoolean() ? date.atStartOfDay() : date.minusDays(1).atTime(23, 58);
+
+            lines.add(line(begin, "Guard #" + id + " begins shift"));
+            NavigableSet<LocalDateTime> asleep = minutesAsleep.computeIfAbsent(id, k -> new TreeSet<>());
+
+            // Every other shift starts sleeping at 00:00, the others later, all sleeps end at 00:59 at the latest
+            for (int start = day % 2 == 0 ? 0 : 1 + random.nextInt(9); id != SLEEPLESS_GUARD_ID && start < 59;
+                 start += 1 + random.nextInt(10)) {
+                int end = start + 1 + random.nextInt(59 - start);
+
+                lines.add(line(date.atTime(0, start), "falls asleep"));
+                lines.add(line(date.atTime(0, end), "wakes up"));
+
+                for (int minute = start; minute < end; ++minute) {
+                    asleep.add(date.atTime(0, minute));
+                }
+
+                start = end;
+            }
+        }
+
+        Collections.shuffle(lines, random);
+
+        index = Day04.buildSleepIndex(input(lines));
+    }
+
+    @Test
+    void knowsAllGuards() {
+        Set<Integer> ids = new HashSet<>();
+        for (int id : GUARD_IDS) {
+            ids.add(id);
+        }
+
+        assertEquals(ids, index.getGuardIds());
+    }
+
+    @Test
+    void countsMinutesAsleepLikeMinuteScan() {
+        List<LocalDateTime> times = new ArrayList<>();
+
+        for (int day = -1; day <= DAYS; ++day) {
+            for (LocalTime time : new LocalTime[]{LocalTime.of(0, 0), LocalTime.of(0, 1), LocalTime.of(0, 30),
+                    LocalTime.of(0, 58), LocalTime.of(0, 59), LocalTime.of(1, 0), LocalTime.of(23, 59)}) {
+                times.add(FIRST_DAY.plusDays(day).atTime(time));
+            }
+        }
+
+        for (int id : GUARD_IDS) {
+            for (LocalDateTime from : times) {
+                for (LocalDateTime to : times) {
+                    long expected = from.isBefore(to) ? minutesAsleep.get(id).subSet(from, to).size() : 0;
+
+                    assertEquals(expected, index.getMinutesAsleep(id, from, to), () -> id + " " + from + " " + to);
+                }
+            }
+        }
+    }
+
+    @Test
+    void findsGuardsAsleepLikeMinuteScan() {
+        LocalDateTime end = FIRST_DAY.plusDays(DAYS).atStartOfDay();
+
+        LocalDateTime start = FIRST_DAY.minusDays(1).atStartOfDay();
+
+        for (LocalDateTime time = start; time.isBefore(end); time = time.plusMinutes(1)) {
+            Set<Integer> expected = new TreeSet<>();
+
+            for (Map.Entry<Integer, NavigableSet<LocalDateTime>> entry : minutesAsleep.entrySet()) {
+                if (entry.getValue().contains(time)) {
+                    expected.add(entry.getKey());
+                }
+            }
+
+            assertEquals(expected, index.getGuardsAsleepAt(time), time::toString);
+        }
+    }
+
+    @Test
+    void findsGuardsAsleepInFirstAndLastMinute() {
+        for (int day = 0; day < DAYS; ++day) {
+            LocalDate date = FIRST_DAY.plusDays(day);
+            int id = GUARD_IDS[day % GUARD_IDS.length];
+
+            assertEquals(id != SLEEPLESS_GUARD_ID && day % 2 == 0, index.getGuardsAsleepAt(date, 0).contains(id));
+            assertTrue(index.getGuardsAsleepAt(date, 59).isEmpty());
+        }
+    }
+
+    @Test
+    void answersNothingForGuardsWithoutSleeps() {
+        LocalDateTime from = FIRST_DAY.atStartOfDay();
+        LocalDateTime to = FIRST_DAY.plusDays(DAYS).atStartOfDay();
+
+        assertTrue(minutesAsleep.get(SLEEPLESS_GUARD_ID).isEmpty());
+        assertEquals(0, index.getMinutesAsleep(SLEEPLESS_GUARD_ID, from, to));
+        assertEquals(0, index.getMinutesAsleep(42, from, to));
+        assertEquals(0, Day04.buildSleepIndex(input(Collections.singletonList(
+                line(from, "Guard #" + SLEEPLESS_GUARD_ID + " begins shift")))).size());
+    }
+
+    private static String line(LocalDateTime time, String event) {
+        return String.format("[%s %s] %s", time.toLocalDate(), time.toLocalTime(), event);
+    }
+
+    private static InputSource input(List<String> lines) {
+        try {
+            Path file = Files.createTempFile("day04-", ".txt");
+            file.toFile().deleteOnExit();
+            Files.write(file, lines);
+            return InputSource.file(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -16,7 +16,9 @@
 
 package eu.marrat.advent2018.day05;
 
-import eu.marrat.advent2018.common.ClasspathFileUtils;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.common.Solvers;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
@@ -25,29 +27,49 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-public class Day05 {
+public class Day05 implements Solver<List<Integer>> {
 
     public static void main(String[] args) {
-        List<Integer> input = ClasspathFileUtils.getLines("input")
-                .filter(StringUtils::isNotEmpty)
-                .findFirst()
-                .orElseThrow(IllegalArgumentException::new)
-                .chars()
-                .boxed()
-                .collect(Collectors.toList());
+        Solvers.main(new Day05(), args);
+    }
 
-        LinkedList<Integer> pairs = removeNeighboringPairs(input);
-        System.out.println(pairs.size());
+    @Override
+    public int getDay() {
+        return 5;
+    }
+
+    @Override
+    public Integer solvePart1(List<Integer> input) {
+        return removeNeighboringPairs(input).size();
+    }
 
-        long min = IntStream.rangeClosed('A', 'Z')
+    @Override
+    public Integer solvePart2(List<Integer> input) {
+        return findShortestPolymerLength(input);
+    }
+
+    @Override
+    public List<Integer> parse(InputSource input) {
+        try (Stream<String> lines = input.lines()) {
+            return lines
+                    .filter(StringUtils::isNotEmpty)
+                    .findFirst()
+                    .orElseThrow(IllegalArgumentException::new)
+                    .chars()
+                    .boxed()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static int findShortestPolymerLength(List<Integer> input) {
+        return IntStream.rangeClosed('A', 'Z')
                 .mapToObj(c -> getFilteredList(input, c + 32, c))
                 .map(Day05::removeNeighboringPairs)
                 .mapToInt(Collection::size)
                 .min()
                 .orElse(-1);
-
-        System.out.println(min);
     }
 
     private static List<Integer> getFilteredList(List<Integer> input, int lc, int uc) {
@@ -58,7 +80,7 @@ public class Day05 {
                 .collect(Collectors.toList());
     }
 
-    private static LinkedList<Integer> removeNeighboringPairs(List<Integer> input) {
+    static LinkedList<Integer> removeNeighboringPairs(List<Integer> input) {
         LinkedList<Integer> list = new LinkedList<>(input);
 
         boolean changed;
@@ -16,7 +16,8 @@
 
 package eu.marrat.advent2018.day06;
 
-import eu.marrat.advent2018.common.ClasspathFileUtils;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.Solver;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.imageio.ImageIO;
@@ -24,67 +25,133 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-public class Day06 {
+public class Day06 implements Solver<List<OriginalCoordinate>> {
 
 	private static final int LENGTH = 400;
 
+	private static final int MAX_TOTAL_DISTANCE = 10_000;
+
 	public static void main(String[] args) throws IOException {
-		List<OriginalCoordinate> coordinates = ClasspathFileUtils.getLines("input")
-				.filter(StringUtils::isNotEmpty)
-				.map(OriginalCoordinate::fromString)
-				.collect(Collectors.toList());
+		Day06 solver = new Day06();
+
+		// Solves both parts on a single scan, which is reused to render the regions
+		List<OriginalCoordinate> coordinates = solver.parse(InputSource.fromArgs(args, solver.getDefaultInput()));
+		List<RegionPoint> allRegionPoints = scan(coordinates);
+
+		System.out.println(findLargestFiniteArea(allRegionPoints));
+		System.out.println(solver.solvePart2(coordinates));
+
+		ImageIO.write(render(allRegionPoints, findRegionPointsWithinDistance(allRegionPoints)), "png", Paths.get("test.png").toFile());
+	}
+
+	@Override
+	public int getDay() {
+		return 6;
+	}
+
+	@Override
+	public Integer solvePart1(List<OriginalCoordinate> coordinates) {
+		return findLargestFiniteArea(scan(coordinates));
+	}
+
+	/**
+	 * Only needs the distances, so it does not {@link #scan(List)} the region points.
+	 */
+	@Override
+	public Integer solvePart2(List<OriginalCoordinate> coordinates) {
+		int count = 0;
+
+		for (int y = 0; y < LENGTH; ++y) {
+			for (int x = 0; x < LENGTH; ++x) {
+				int sum = 0;
+
+				for (OriginalCoordinate coordinate : coordinates) {
+					sum += Math.abs(x - coordinate.getX()) + Math.abs(y - coordinate.getY());
+				}
+
+				if (sum < MAX_TOTAL_DISTANCE) {
+					++count;
+				}
+			}
+		}
+
+		return count;
+	}
+
+	@Override
+	public List<OriginalCoordinate> parse(InputSource input) {
+		try (Stream<String> lines = input.lines()) {
+			return lines
+					.filter(StringUtils::isNotEmpty)
+					.map(OriginalCoordinate::fromString)
+					.collect(Collectors.toList());
+		}
+	}
 
+	static List<RegionPoint> scan(List<OriginalCoordinate> coordinates) {
 		OriginalData originalData = new OriginalData(coordinates);
 
 		RegionPoint regionPoint = new RegionPoint(new Coordinate(0, 0), originalData);
 
-		BufferedImage image = new BufferedImage(LENGTH, LENGTH, BufferedImage.TYPE_INT_ARGB);
-
-		Set<OriginalCoordinate> assumedInfiniteRoots = new HashSet<>();
-		Set<RegionPoint> regionPointsWithUniqueDistance = new HashSet<>();
-		Set<RegionPoint> allRegionPoints = new HashSet<>();
+		List<RegionPoint> allRegionPoints = new ArrayList<>(LENGTH * LENGTH);
 
 		for (int y = 0; y < LENGTH; ++y) {
 			RegionPoint current = regionPoint;
 
 			for (int x = 0; x < LENGTH; ++x) {
 				allRegionPoints.add(current);
-				if (current.hasUniqueClosestDistance()) {
-					if (y == 0 || y == LENGTH - 1 || x == 0 || x == LENGTH - 1) {
-						assumedInfiniteRoots.add(current.getClosestNamedCoordinate());
-					} else {
-						regionPointsWithUniqueDistance.add(current);
-					}
-				}
-
-				image.setRGB(x, y, current.getColor().getRGB());
 				current = current.next(Direction.EAST);
 			}
 
 			regionPoint = regionPoint.next(Direction.SOUTH);
 		}
 
+		return allRegionPoints;
+	}
+
+	static int findLargestFiniteArea(List<RegionPoint> allRegionPoints) {
+		Set<OriginalCoordinate> assumedInfiniteRoots = new HashSet<>();
+		Set<RegionPoint> regionPointsWithUniqueDistance = new HashSet<>();
+
+		for (RegionPoint current : allRegionPoints) {
+			if (current.hasUniqueClosestDistance()) {
+				if (isOnBorder(current.getOwnCoordinate())) {
+					assumedInfiniteRoots.add(current.getClosestNamedCoordinate());
+				} else {
+					regionPointsWithUniqueDistance.add(current);
+				}
+			}
+		}
+
 		regionPointsWithUniqueDistance.removeIf(rp -> assumedInfiniteRoots.contains(rp.getClosestNamedCoordinate()));
 
 		Map<OriginalCoordinate, List<RegionPoint>> collect = regionPointsWithUniqueDistance.stream()
 				.collect(Collectors.groupingBy(RegionPoint::getClosestNamedCoordinate));
 
-		int max = collect.values().stream()
+		return collect.values().stream()
 				.mapToInt(List::size)
 				.max()
 				.orElseThrow();
+	}
 
-		System.out.println(max);
-
-		List<RegionPoint> regionPointsWithinDistance = allRegionPoints.stream()
-				.filter(t -> t.getSumOfAllDistances() < 10_000)
+	static List<RegionPoint> findRegionPointsWithinDistance(List<RegionPoint> allRegionPoints) {
+		return allRegionPoints.stream()
+				.filter(t -> t.getSumOfAllDistances() < MAX_TOTAL_DISTANCE)
 				.collect(Collectors.toList());
+	}
+
+	private static BufferedImage render(List<RegionPoint> allRegionPoints, List<RegionPoint> regionPointsWithinDistance) {
+		BufferedImage image = new BufferedImage(LENGTH, LENGTH, BufferedImage.TYPE_INT_ARGB);
+
+		allRegionPoints.forEach(t -> image.setRGB(t.getOwnCoordinate().getX(), t.getOwnCoordinate().getY(), t.getColor().getRGB()));
 
 		regionPointsWithinDistance.forEach(t -> {
 			int x = t.getOwnCoordinate().getX();
@@ -93,9 +160,14 @@ public class Day06 {
 			image.setRGB(x, y, new Color(image.getRGB(x, y)).brighter().brighter().getRGB());
 		});
 
-		System.out.println(regionPointsWithinDistance.size());
+		return image;
+	}
+
+	private static boolean isOnBorder(Coordinate coordinate) {
+		int x = coordinate.getX();
+		int y = coordinate.getY();
 
-		ImageIO.write(image, "png", Paths.get("test.png").toFile());
+		return y == 0 || y == LENGTH - 1 || x == 0 || x == LENGTH - 1;
 	}
 
 }
@@ -16,7 +16,9 @@
 
 package eu.marrat.advent2018.day07;
 
-import eu.marrat.advent2018.common.ClasspathFileUtils;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.common.Solvers;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -37,14 +39,63 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class Day07 {
+public class Day07 implements Solver<List<Day07.Requirement>> {
+
+	private static final int WORKERS = 5;
 
 	public static void main(String[] args) {
-		List<Requirement> requirements = ClasspathFileUtils.getLines("input")
-				.filter(StringUtils::isNotEmpty)
-				.map(Requirement::new)
-				.collect(Collectors.toList());
+		Solvers.main(new Day07(), args);
+	}
+
+	@Override
+	public int getDay() {
+		return 7;
+	}
+
+	@Override
+	public String solvePart1(List<Requirement> requirements) {
+		return calculateSequence(requirements);
+	}
+
+	@Override
+	public Integer solvePart2(List<Requirement> requirements) {
+		return calculateDuration(requirements, WORKERS);
+	}
+
+	@Override
+	public List<Requirement> parse(InputSource input) {
+		try (Stream<String> lines = input.lines()) {
+			return lines
+					.filter(StringUtils::isNotEmpty)
+					.map(Requirement::new)
+					.collect(Collectors.toList());
+		}
+	}
+
+	static String calculateSequence(List<Requirement> requirements) {
+		return buildGraph(requirements).calculateSequenceFromHere()
+				.skip(1)
+				.collect(Collectors.joining(""));
+	}
 
+	static int calculateDuration(List<Requirement> requirements, int workerCount) {
+		Set<Worker> workers = Worker.breedWorkers(workerCount);
+		Work work = new Work(buildGraph(requirements));
+
+		int i = 0;
+
+		while (!work.allWorkDone()) {
+			work.tick(workers);
+			++i;
+		}
+
+		return i - 1;
+	}
+
+	/**
+	 * Returns a fake step which must be finished before all steps without other predecessors.
+	 */
+	private static Step buildGraph(List<Requirement> requirements) {
 		Map<String, Step> steps = new TreeMap<>();
 
 		requirements.forEach(r -> {
@@ -60,22 +111,7 @@ public class Day07 {
 				.filter(s -> s.predecessors.isEmpty())
 				.forEach(fake::mustBeFinishedBefore);
 
-		System.out.println(fake.calculateSequenceFromHere()
-				.skip(1)
-				.collect(Collectors.joining("")));
-
-		Set<Worker> workers = Worker.breedWorkers(5);
-		Work work = new Work(fake);
-
-		int i = 0;
-
-		while (!work.allWorkDone()) {
-			System.out.format("--- Tick %3d -----------%n", i);
-			work.tick(workers);
-			++i;
-		}
-
-		System.out.println(i - 1);
+		return fake;
 	}
 
 	static class Worker {
@@ -97,8 +133,6 @@ public class Day07 {
 		void beginToWorkOn(Step step) {
 			currentStep = step;
 			remainingDurationForCurrentStep = step.getDuration();
-			System.out.format("Worker %d begins work on step %s which will take %d seconds%n",
-					id, currentStep, remainingDurationForCurrentStep);
 		}
 
 		void tick() {
@@ -164,10 +198,6 @@ public class Day07 {
 					.filter(s -> s.isReady(performedSteps))
 					.forEach(readySteps::add);
 
-			System.out.format("There are %2d steps open:  %s%n", openSteps.size(), openSteps);
-			System.out.format("There are %2d steps ready: %s%n", readySteps.size(), readySteps);
-			System.out.format("There are %2d steps done:  %s%n", performedSteps.size(), performedSteps);
-
 			workers.stream()
 					.filter(Worker::isReadyForMoreWork)
 					.forEach(worker -> {
@@ -16,8 +16,9 @@
 
 package eu.marrat.advent2018.day08;
 
-import eu.marrat.advent2018.common.ClasspathFileUtils;
-import org.apache.commons.lang3.RandomStringUtils;
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.common.Solvers;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -25,13 +26,33 @@ import java.util.Stack;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
-public class Day08 {
+public class Day08 implements Solver<Day08.Node> {
 
 	public static void main(String[] args) {
-		int[] input = ClasspathFileUtils.getTokensFromSingleLine("input", ' ')
-				.mapToInt(Integer::parseInt)
-				.toArray();
+		Solvers.main(new Day08(), args);
+	}
+
+	@Override
+	public int getDay() {
+		return 8;
+	}
+
+	@Override
+	public Node parse(InputSource input) {
+		return buildTree(input.intArray());
+	}
+
+	@Override
+	public Integer solvePart1(Node root) {
+		return root.sumMetaData();
+	}
+
+	@Override
+	public Integer solvePart2(Node root) {
+		return root.calculateLicenseNumber();
+	}
 
+	static Node buildTree(int[] input) {
 		Node root = null;
 		int currentChildNodes = -1;
 		int currentMetaDataEntries = -1;
@@ -41,64 +62,47 @@ public class Day08 {
 		for (int i : input) {
 			if (currentChildNodes < 0) {
 				currentChildNodes = i;
-				System.out.format("Set new quantity of child nodes: %d%n", currentChildNodes);
 			} else if (currentMetaDataEntries < 0) {
 				currentMetaDataEntries = i;
-				System.out.format("Set new quantity of metadata entries: %d%n", currentMetaDataEntries);
 
 				currentNode = new Node(currentChildNodes, currentMetaDataEntries);
-				System.out.format("Created new node %s with quantity of child nodes %d and quantity of metadata entries %d%n",
-						currentNode.name,
-						currentChildNodes,
-						currentMetaDataEntries);
 
 				if (!stack.empty()) {
-					Node parent = stack.peek();
-					System.out.format("Add node %s as child to node %s%n",
-							currentNode.name,
-							parent.name);
-					parent.addChild(currentNode);
+					stack.peek().addChild(currentNode);
 				} else {
 					root = currentNode;
 				}
 
 				if (currentNode.hasMissingChildren()) {
-					System.out.println("Reset quantities because a new header will begin");
 					stack.push(currentNode);
 					currentChildNodes = -1;
 					currentMetaDataEntries = -1;
 				}
 			} else if (currentNode.hasMissingMetaData()) {
-				System.out.format("Add metadata %d to current node %s%n", i, currentNode.name);
 				currentNode.addMetaData(i);
 			} else if (!stack.peek().hasMissingChildren() && stack.peek().hasMissingMetaData()) {
 				currentNode = stack.pop();
 				currentNode.addMetaData(i);
-				System.out.format("Add metadata %d to current node %s%n", i, currentNode.name);
 			} else {
 				currentChildNodes = i;
 				currentMetaDataEntries = -1;
-				System.out.format("Node %s finished, beginning a new header with quantity of child nodes: %d%n",
-						currentNode.name,
-						currentChildNodes);
 			}
 		}
 
-		System.out.println(stack.size());
-		System.out.println(Objects.requireNonNull(root).sumMetaData());
-		System.out.println(Objects.requireNonNull(root).calculateLicenseNumber());
+		if (!stack.empty()) {
+			throw new IllegalArgumentException(String.format("%d nodes are incomplete", stack.size()));
+		}
+
+		return Objects.requireNonNull(root);
 	}
 
 	static class Node {
 
-		private final String name;
-
 		private final Node[] children;
 
 		private final int[] metaData;
 
 		Node(int childNodes, int metaDataEntries) {
-			name = RandomStringUtils.randomAlphabetic(4);
 			children = new Node[childNodes];
 			metaData = new int[metaDataEntries];
 
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Usage: {@code GeneratorMain [--ordered] <day> <size> [seed] [file]}. Writes to stdout without a file, gzip
+ * compressed if the file name ends with {@code .gz}. Logs are shuffled like the puzzle input unless {@code --ordered}
+ * is given.
+ */
+public class GeneratorMain {
+
+	private static final long DEFAULT_SEED = 2018;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private static final String ORDERED = "--ordered";
+
+	public static void main(String[] args) throws IOException {
+		boolean ordered = args.length > 0 && ORDERED.equals(args[0]);
+
+		if (ordered) {
+			args = Arrays.copyOfRange(args, 1, args.length);
+		}
+
+		if (args.length < 2) {
+			System.err.println("Usage: GeneratorMain [--ordered] <day> <size> [seed] [file]");
+			System.exit(1);
+		}
+
+		InputGenerator generator = InputGenerator.forDay(Integer.parseInt(args[0]));
+		long size = Long.parseLong(args[1]);
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+
+		try (Writer writer = openWriter(args.length > 3 ? args[3] : null)) {
+			generator.generate(size, seed, writer, ordered);
+		}
+	}
+
+	private static Writer openWriter(String file) throws IOException {
+		OutputStream outputStream;
+
+		if (file == null) {
+			outputStream = System.out;
+		} else if (file.endsWith(".gz")) {
+			outputStream = new GZIPOutputStream(Files.newOutputStream(Paths.get(file)), BUFFER_SIZE);
+		} else {
+			outputStream = Files.newOutputStream(Paths.get(file));
+		}
+
+		return new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+	}
+
+}
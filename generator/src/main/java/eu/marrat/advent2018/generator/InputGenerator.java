@@ -0,0 +1,313 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.generator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes valid puzzle inputs of arbitrary size. The output only depends on size and seed, and everything but the
+ * Day07 graph is written while it is generated, so the size is not limited by the heap.
+ */
+public enum InputGenerator {
+
+	/**
+	 * {@code size} frequency deltas. They add up to a drift of at most a tenth of their count, so some frequency is
+	 * guaranteed to repeat.
+	 */
+	DAY01 {
+		@Override
+		void generate(long size, Random random, Writer writer) throws IOException {
+			long drift = random.nextInt((int) Math.min(Integer.MAX_VALUE - 1, size / 10) + 1)
+					* (random.nextBoolean() ? 1 : -1);
+			long sum = 0;
+
+			for (long i = 1; i < size; ++i) {
+				long delta = random.nextInt(2001) - 1000;
+				sum += delta;
+				writeLine(writer, String.format("%+d", delta));
+			}
+
+			writeLine(writer, String.format("%+d", drift - sum));
+		}
+	},
+
+	/**
+	 * {@code size} box IDs, the last of them differing from the first one in a single position. This takes at least
+	 * two IDs.
+	 */
+	DAY02 {
+		private static final int LENGTH = 26;
+
+		@Override
+		void generate(long size, Random random, Writer writer) throws IOException {
+			if (size < 2) {
+				throw new IllegalArgumentException("At least 2 IDs are needed for a pair");
+			}
+
+			char[] first = randomLetters(random);
+			writeLine(writer, new String(first));
+
+			for (long i = 2; i < size; ++i) {
+				writeLine(writer, new String(randomLetters(random)));
+			}
+
+			int position = random.nextInt(LENGTH);
+			first[position] = (char) ('a' + (first[position] - 'a' + 1) % 26);
+			writeLine(writer, new String(first));
+		}
+
+		private char[] randomLetters(Random random) {
+			char[] letters = new char[LENGTH];
+
+			for (int i = 0; i < LENGTH; ++i) {
+				letters[i] = (char) ('a' + random.nextInt(26));
+			}
+
+			return letters;
+		}
+	},
+
+	/**
+	 * {@code size} claims on the 1000x1000 fabric. A single one of them is placed in a strip at the left edge which
+	 * no other claim touches, so at least one claim does not overlap.
+	 */
+	DAY03 {
+		private static final int FABRIC = 1000;
+
+		private static final int MAX_CLAIM_SIZE = 30;
+
+		@Override
+		void generate(long size, Random random, Writer writer) throws IOException {
+			long unique = 1 + (long) (random.nextDouble() * size);
+
+			for (long id = 1; id <= size; ++id) {
+				int width = 1 + random.nextInt(MAX_CLAIM_SIZE);
+				int height = 1 + random.nextInt(MAX_CLAIM_SIZE);
+				int x = id == unique
+						? random.nextInt(MAX_CLAIM_SIZE - width + 1)
+						: MAX_CLAIM_SIZE + random.nextInt(FABRIC - MAX_CLAIM_SIZE - width);
+				int y = random.nextInt(FABRIC - height);
+
+				writeLine(writer, String.format("#%d @ %d,%d: %dx%d", id, x, y, width, height));
+			}
+		}
+	},
+
+	/**
+	 * {@code size} guard shifts, one per day, with up to three naps each. Like the puzzle input, the lines are
+	 * shuffled unless they are requested in chronological order, so the log has to be held in memory for shuffling.
+	 */
+	DAY04 {
+		private static final int MAX_NAPS = 3;
+
+		@Override
+		void generate(long size, Random random, Writer writer) throws IOException {
+			generate(size, random, writer, false);
+		}
+
+		@Override
+		void generate(long size, Random random, Writer writer, boolean ordered) throws IOException {
+			if (ordered) {
+				generateShifts(size, random, writer);
+				return;
+			}
+
+			StringWriter log = new StringWriter();
+			generateShifts(size, random, log);
+
+			List<String> lines = new ArrayList<>(Arrays.asList(log.toString().split("\n")));
+			Collections.shuffle(lines, random);
+
+			for (String line : lines) {
+				writeLine(writer, line);
+			}
+		}
+
+		private void generateShifts(long size, Random random, Writer writer) throws IOException {
+			LocalDate date = LocalDate.of(1518, 1, 1);
+			int guards = (int) Math.min(10_000, Math.max(1, size / 20));
+
+			for (long day = 0; day < size; ++day, date = date.plusDays(1)) {
+				int guard = 1 + random.nextInt(guards * 10);
+
+				if (random.nextBoolean()) {
+					writeLine(writer, String.format("[%s 23:%02d] Guard #%d begins shift", date.minusDays(1), 45 + random.nextInt(15), guard));
+				} else {
+					writeLine(writer, String.format("[%s 00:%02d] Guard #%d begins shift", date, random.nextInt(5), guard));
+				}
+
+				int[] minutes = random.ints(5, 60)
+						.distinct()
+						.limit(2 * random.nextInt(MAX_NAPS + 1))
+						.sorted()
+						.toArray();
+
+				for (int i = 0; i + 1 < minutes.length; i += 2) {
+					writeLine(writer, String.format("[%s 00:%02d] falls asleep", date, minutes[i]));
+					writeLine(writer, String.format("[%s 00:%02d] wakes up", date, minutes[i + 1]));
+				}
+			}
+		}
+	},
+
+	/**
+	 * A polymer of {@code size} units on a single line.
+	 */
+	DAY05 {
+		@Override
+		void generate(long size, Random random, Writer writer) throws IOException {
+			for (long i = 0; i < size; ++i) {
+				int unit = random.nextInt(52);
+				writer.write(unit < 26 ? 'a' + unit : 'A' + unit - 26);
+			}
+
+			writer.write('\n');
+		}
+	},
+
+	/**
+	 * {@code size} coordinates well inside the 400x400 area scanned by Day06, so some of them have finite areas.
+	 */
+	DAY06 {
+		private static final int MIN = 50;
+
+		private static final int MAX = 350;
+
+		@Override
+		void generate(long size, Random random, Writer writer) throws IOException {
+			for (long i = 0; i < size; ++i) {
+				writeLine(writer, String.format("%d, %d", MIN + random.nextInt(MAX - MIN), MIN + random.nextInt(MAX - MIN)));
+			}
+		}
+	},
+
+	/**
+	 * {@code size} requirements between steps in a shuffled order, which keeps the graph acyclic. Steps are single
+	 * letters, so there are at most 26 * 25 / 2 = 325 requirements.
+	 */
+	DAY07 {
+		private static final int MAX_SIZE = 26 * 25 / 2;
+
+		@Override
+		void generate(long size, Random random, Writer writer) throws IOException {
+			if (size > MAX_SIZE) {
+				throw new IllegalArgumentException(String.format("At most %d requirements are possible", MAX_SIZE));
+			}
+
+			List<Character> order = new ArrayList<>();
+			for (char c = 'A'; c <= 'Z'; ++c) {
+				order.add(c);
+			}
+			Collections.shuffle(order, random);
+
+			List<String> requirements = new ArrayList<>();
+			for (int before = 0; before < order.size(); ++before) {
+				for (int after = before + 1; after < order.size(); ++after) {
+					requirements.add(String.format("Step %s must be finished before step %s can begin.", order.get(before), order.get(after)));
+				}
+			}
+			Collections.shuffle(requirements, random);
+
+			for (String requirement : requirements.subList(0, (int) size)) {
+				writeLine(writer, requirement);
+			}
+		}
+	},
+
+	/**
+	 * A license tree of {@code size} nodes on a single line. The nodes are spread evenly over the children, which
+	 * keeps the tree shallow. Metadata entries of nodes with children always reference one of them, so the license
+	 * number is never zero.
+	 */
+	DAY08 {
+		private static final int MAX_CHILDREN = 3;
+
+		private static final int MAX_META_DATA = 3;
+
+		@Override
+		void generate(long size, Random random, Writer writer) throws IOException {
+			generateNode(size, random, writer);
+			writer.write('\n');
+		}
+
+		private void generateNode(long nodes, Random random, Writer writer) throws IOException {
+			long remaining = nodes - 1;
+			int children = (int) Math.min(remaining, remaining == 0 ? 0 : 1 + random.nextInt(MAX_CHILDREN));
+			int metaData = 1 + random.nextInt(MAX_META_DATA);
+
+			writer.write(children + " " + metaData);
+
+			for (int i = children; i > 0; --i) {
+				long share = remaining / i;
+				writer.write(' ');
+				generateNode(share, random, writer);
+				remaining -= share;
+			}
+
+			for (int i = 0; i < metaData; ++i) {
+				writer.write(" " + (1 + random.nextInt(children == 0 ? 9 : children)));
+			}
+		}
+	};
+
+	/**
+	 * Writes an input of the given size, which is counted in lines, units or nodes depending on the puzzle.
+	 */
+	public void generate(long size, long seed, Writer writer) throws IOException {
+		generate(size, seed, writer, false);
+	}
+
+	/**
+	 * Like {@link #generate(long, long, Writer)}, but writes logs in chronological order instead of shuffled, e.g.
+	 * for the streaming ingest of Day04. Inputs without a chronology are the same either way.
+	 */
+	public void generate(long size, long seed, Writer writer, boolean ordered) throws IOException {
+		if (size < 1) {
+			throw new IllegalArgumentException(String.format("Illegal size: %d", size));
+		}
+
+		generate(size, new Random(seed), writer, ordered);
+	}
+
+	abstract void generate(long size, Random random, Writer writer) throws IOException;
+
+	void generate(long size, Random random, Writer writer, boolean ordered) throws IOException {
+		generate(size, random, writer);
+	}
+
+	public static InputGenerator forDay(int day) {
+		if (day < 1 || day > values().length) {
+			throw new IllegalArgumentException(String.format("No generator for day %d", day));
+		}
+
+		return values()[day - 1];
+	}
+
+	private static void writeLine(Writer writer, String line) throws IOException {
+		writer.write(line);
+		writer.write('\n');
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.marrat.advent2018.runner;
+
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.common.SolverResult;
+import eu.marrat.advent2018.common.Solvers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs several solvers concurrently in one JVM.
+ * <p>
+ * Every solver runs all of its phases on a single thread of the executor, so the per-thread metrics of
+ * {@link Solvers#run(Solver, InputSource)} stay meaningful, although concurrent days compete for the same cores.
+ */
+final class Batch {
+
+	static final String VIRTUAL = "virtual";
+
+	/**
+	 * Creates the executor for a {@code --threads} value: either a thread count or {@value #VIRTUAL} for one virtual
+	 * thread per day. Virtual threads need a Java 21 runtime and are looked up reflectively, as the project targets
+	 * Java 11.
+	 */
+	static ExecutorService newExecutor(String threads) {
+		if (VIRTUAL.equals(threads)) {
+			return newVirtualThreadPerTaskExecutor();
+		}
+
+		int count = Integer.parseInt(threads);
+
+		if (count < 1) {
+			throw new IllegalArgumentException(String.format("Thread count must be positive: %d", count));
+		}
+
+		AtomicInteger index = new AtomicInteger();
+
+		return Executors.newFixedThreadPool(count, r -> {
+			Thread thread = new Thread(r, "solver-" + index.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Submits all solvers at once and returns their results in the order of the given list.
+	 */
+	static List<SolverResult> run(List<Solver<?>> solvers, Map<Integer, InputSource> inputs, ExecutorService executor) {
+		List<Future<SolverResult>> futures = new ArrayList<>(solvers.size());
+
+		for (Solver<?> solver : solvers) {
+			InputSource input = inputs.getOrDefault(solver.getDay(), solver.getDefaultInput());
+			futures.add(executor.submit(() -> Solvers.run(solver, input)));
+		}
+
+		List<SolverResult> results = new ArrayList<>(futures.size());
+
+		for (int i = 0; i < futures.size(); ++i) {
+			try {
+				results.add(futures.get(i).get());
+			} catch (ExecutionException e) {
+				futures.forEach(f -> f.cancel(true));
+				throw new IllegalStateException(String.format("Day %d failed", solvers.get(i).getDay()), e.getCause());
+			} catch (InterruptedException e) {
+				futures.forEach(f -> f.cancel(true));
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for results", e);
+			}
+		}
+
+		return results;
+	}
+
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException("Virtual threads need Java 21 or later", e);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException("Cannot create virtual thread executor", e);
+		}
+	}
+
+	private Batch() {
+		throw new IllegalStateException();
+	}
+
+}
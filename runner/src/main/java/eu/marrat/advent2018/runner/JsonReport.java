@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.runner;
+
+import eu.marrat.advent2018.common.PhaseResult;
+import eu.marrat.advent2018.common.SolverResult;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Writes solver results as JSON, one object per day with one object per phase.
+ */
+final class JsonReport {
+
+	static String toJson(List<SolverResult> results) {
+		StringJoiner days = new StringJoiner(",\n", "{\n  \"days\": [\n", "\n  ]\n}\n");
+
+		for (SolverResult result : results) {
+			StringJoiner phases = new StringJoiner(",\n", "[\n", "\n      ]");
+
+			for (PhaseResult phase : result.getPhases()) {
+				phases.add(String.format(Locale.ROOT,
+						"        {\"phase\": %s, \"answer\": %s, \"wallNanos\": %d, \"cpuNanos\": %d, \"allocatedBytes\": %d}",
+						quote(phase.getPhase().name().toLowerCase(Locale.ROOT)),
+						phase.getAnswer() == null ? "null" : quote(phase.getAnswer().toString()),
+						phase.getWallNanos(),
+						phase.getCpuNanos(),
+						phase.getAllocatedBytes()));
+			}
+
+			days.add(String.format(Locale.ROOT,
+					"    {\"day\": %d, \"input\": %s, \"phases\": %s}",
+					result.getDay(),
+					quote(result.getInput()),
+					phases));
+		}
+
+		return days.toString();
+	}
+
+	private static String quote(String string) {
+		StringBuilder builder = new StringBuilder("\"");
+
+		for (char c : string.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				builder.append('\\').append(c);
+			} else if (c < 0x20) {
+				builder.append(String.format("\\u%04x", (int) c));
+			} else {
+				builder.append(c);
+			}
+		}
+
+		return builder.append('"').toString();
+	}
+
+	private JsonReport() {
+		throw new IllegalStateException();
+	}
+
+}
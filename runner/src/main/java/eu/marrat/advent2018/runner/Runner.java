@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018 Markus Ratzer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.marrat.advent2018.runner;
+
+import eu.marrat.advent2018.common.InputSource;
+import eu.marrat.advent2018.common.PhaseResult;
+import eu.marrat.advent2018.common.Solver;
+import eu.marrat.advent2018.common.SolverResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the {@link Solver}s found on the classpath and reports the time and memory spent in every phase.
+ * <p>
+ * Usage: {@code Runner [--json <file>] [--threads <n>|virtual] [--input <day>=<spec>]... [<day>...]}. Without days,
+ * all of them are run. An input spec is resolved by {@link InputSource#of(String)}, days without one use their bundled
+ * input. With {@code --threads}, the days run concurrently on a pool of that many threads (or on virtual threads),
+ * otherwise one after the other.
+ */
+public class Runner {
+
+	private static final String USAGE = "Usage: Runner [--json <file>] [--threads <n>|virtual] [--input <day>=<spec>]... [<day>...]";
+
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+	private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+	public static void main(String[] args) throws IOException {
+		Path json = null;
+		String threads = "1";
+		Map<Integer, InputSource> inputs = new HashMap<>();
+		Set<Integer> days = new TreeSet<>();
+
+		for (int i = 0; i < args.length; ++i) {
+			if ("--json".equals(args[i]) && i + 1 < args.length) {
+				json = Paths.get(args[++i]);
+			} else if ("--threads".equals(args[i]) && i + 1 < args.length) {
+				threads = args[++i];
+			} else if ("--input".equals(args[i]) && i + 1 < args.length) {
+				String[] dayAndSpec = args[++i].split("=", 2);
+				if (dayAndSpec.length != 2) {
+					exitWithUsage();
+				}
+				inputs.put(parseDay(dayAndSpec[0]), InputSource.of(dayAndSpec[1]));
+			} else if (args[i].matches("\\d+")) {
+				days.add(parseDay(args[i]));
+			} else {
+				exitWithUsage();
+			}
+		}
+
+		List<Solver<?>> solvers = null;
+		ExecutorService executor = null;
+
+		try {
+			solvers = findSolvers(days);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			exitWithUsage();
+		}
+
+		try {
+			executor = Batch.newExecutor(threads);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			exitWithUsage();
+		}
+
+		List<SolverResult> results;
+		long wall = System.nanoTime();
+
+		try {
+			results = Batch.run(solvers, inputs, executor);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		wall = System.nanoTime() - wall;
+
+		print(results);
+		System.out.format("Total wall time: %.3f ms%n", wall / NANOS_PER_MILLI);
+
+		if (json != null) {
+			Files.writeString(json, JsonReport.toJson(results), StandardCharsets.UTF_8);
+		}
+	}
+
+	static List<Solver<?>> findSolvers(Set<Integer> days) {
+		List<Solver<?>> solvers = ServiceLoader.load(Solver.class).stream()
+				.map(ServiceLoader.Provider::get)
+				.map(s -> (Solver<?>) s)
+				.filter(s -> days.isEmpty() || days.contains(s.getDay()))
+				.sorted(Comparator.comparingInt(Solver::getDay))
+				.collect(Collectors.toList());
+
+		Set<Integer> missing = new TreeSet<>(days);
+		solvers.forEach(s -> missing.remove(s.getDay()));
+
+		if (!missing.isEmpty()) {
+			throw new IllegalArgumentException(String.format("No solver for days %s", missing));
+		}
+
+		return solvers;
+	}
+
+	static void print(List<SolverResult> results) {
+		System.out.format("%-4s %-6s %-30s %12s %12s %12s%n", "Day", "Phase", "Answer", "Wall [ms]", "CPU [ms]", "Alloc [MB]");
+
+		for (SolverResult result : results) {
+			for (PhaseResult phase : result.getPhases()) {
+				System.out.format("%-4d %-6s %-30s %12.3f %12.3f %12.3f%n",
+						result.getDay(),
+						phase.getPhase(),
+						phase.getAnswer() == null ? "" : phase.getAnswer(),
+						phase.getWallNanos() / NANOS_PER_MILLI,
+						phase.getCpuNanos() / NANOS_PER_MILLI,
+						phase.getAllocatedBytes() / BYTES_PER_MEGABYTE);
+			}
+		}
+	}
+
+	private static int parseDay(String day) {
+		try {
+			return Integer.parseInt(day);
+		} catch (NumberFormatException e) {
+			System.err.println(String.format("Invalid day '%s'", day));
+			exitWithUsage();
+			throw new IllegalStateException();
+		}
+	}
+
+	private static void exitWithUsage() {
+		System.err.println(USAGE);
+		System.exit(1);
+	}
+
+}